@@ -0,0 +1,138 @@
+package org.nttdatabc.mscustomer.config;
+
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_BULKHEAD_FULL;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.CompletableTransformer;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.FlowableTransformer;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.MaybeTransformer;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.ObservableTransformer;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.core.SingleTransformer;
+import java.util.concurrent.Semaphore;
+import org.nttdatabc.mscustomer.utils.exceptions.errors.ErrorResponseException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Compartimento de una clase de operaciones (lecturas, escrituras, firmantes).
+ * Cada suscripción toma un permiso antes de pasar al scheduler y lo devuelve al terminar o
+ * cancelarse; sin permisos libres falla de inmediato con 429 en lugar de esperar.
+ * Los permisos son hilos más cola del executor, así el executor nunca rechaza una tarea.
+ */
+public class Bulkhead {
+  public static final String IN_USE_GAUGE = "customer.bulkhead.in.use";
+  public static final String CAPACITY_GAUGE = "customer.bulkhead.capacity";
+  public static final String REJECTED_COUNTER = "customer.bulkhead.rejected";
+
+  private final String name;
+  private final int capacity;
+  private final Semaphore permits;
+  private final Scheduler scheduler;
+  private final Counter rejected;
+
+  /**
+   * Constructor, registra las métricas con el tag bulkhead=name.
+   *
+   * @param name          nombre del compartimento.
+   * @param capacity      suscripciones simultáneas admitidas.
+   * @param scheduler     scheduler donde se suscribe al servicio.
+   * @param meterRegistry registro de métricas.
+   */
+  public Bulkhead(String name, int capacity, Scheduler scheduler, MeterRegistry meterRegistry) {
+    this.name = name;
+    this.capacity = capacity;
+    this.permits = new Semaphore(capacity);
+    this.scheduler = scheduler;
+    this.rejected = Counter.builder(REJECTED_COUNTER)
+        .description("Suscripciones rechazadas con 429 por compartimento lleno")
+        .tag("bulkhead", name)
+        .register(meterRegistry);
+    Gauge.builder(IN_USE_GAUGE, this, Bulkhead::inUse)
+        .description("Suscripciones en curso o encoladas")
+        .tag("bulkhead", name)
+        .register(meterRegistry);
+    Gauge.builder(CAPACITY_GAUGE, this, bulkhead -> bulkhead.capacity)
+        .description("Suscripciones simultáneas admitidas")
+        .tag("bulkhead", name)
+        .register(meterRegistry);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int inUse() {
+    return capacity - permits.availablePermits();
+  }
+
+  /**
+   * Ejecuta el Completable en el scheduler del bulkhead si hay lugar, si no falla con 429.
+   *
+   * @return el transformer a aplicar con compose.
+   */
+  public CompletableTransformer completable() {
+    return upstream -> Completable.defer(() -> permits.tryAcquire()
+        ? upstream.subscribeOn(scheduler).doFinally(permits::release)
+        : Completable.error(reject()));
+  }
+
+  /**
+   * Ejecuta el Single en el scheduler del bulkhead si hay lugar, si no falla con 429.
+   *
+   * @param <T> tipo de los elementos.
+   * @return el transformer a aplicar con compose.
+   */
+  public <T> SingleTransformer<T, T> single() {
+    return upstream -> Single.defer(() -> permits.tryAcquire()
+        ? upstream.subscribeOn(scheduler).doFinally(permits::release)
+        : Single.error(reject()));
+  }
+
+  /**
+   * Ejecuta el Maybe en el scheduler del bulkhead si hay lugar, si no falla con 429.
+   *
+   * @param <T> tipo de los elementos.
+   * @return el transformer a aplicar con compose.
+   */
+  public <T> MaybeTransformer<T, T> maybe() {
+    return upstream -> Maybe.defer(() -> permits.tryAcquire()
+        ? upstream.subscribeOn(scheduler).doFinally(permits::release)
+        : Maybe.error(reject()));
+  }
+
+  /**
+   * Ejecuta el Observable en el scheduler del bulkhead si hay lugar, si no falla con 429.
+   *
+   * @param <T> tipo de los elementos.
+   * @return el transformer a aplicar con compose.
+   */
+  public <T> ObservableTransformer<T, T> observable() {
+    return upstream -> Observable.defer(() -> permits.tryAcquire()
+        ? upstream.subscribeOn(scheduler).doFinally(permits::release)
+        : Observable.error(reject()));
+  }
+
+  /**
+   * Ejecuta el Flowable en el scheduler del bulkhead si hay lugar, si no falla con 429.
+   *
+   * @param <T> tipo de los elementos.
+   * @return el transformer a aplicar con compose.
+   */
+  public <T> FlowableTransformer<T, T> flowable() {
+    return upstream -> Flowable.defer(() -> permits.tryAcquire()
+        ? upstream.subscribeOn(scheduler).doFinally(permits::release)
+        : Flowable.error(reject()));
+  }
+
+  private ErrorResponseException reject() {
+    rejected.increment();
+    return new ErrorResponseException(EX_BULKHEAD_FULL, HttpStatus.TOO_MANY_REQUESTS.value(), HttpStatus.TOO_MANY_REQUESTS);
+  }
+}
@@ -0,0 +1,63 @@
+package org.nttdatabc.mscustomer.config;
+
+import io.reactivex.rxjava3.core.BackpressureStrategy;
+import io.reactivex.rxjava3.core.Observable;
+import java.util.List;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.core.ReactiveAdapterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.web.reactive.HandlerResult;
+import org.springframework.web.reactive.HandlerResultHandler;
+import org.springframework.web.reactive.accept.RequestedContentTypeResolver;
+import org.springframework.web.reactive.result.method.annotation.AbstractMessageWriterResultHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Responde en WebFlux un Observable&lt;ResponseEntity&gt; con el primer ResponseEntity que emite:
+ * status, headers y cuerpo escrito con los codecs, como lo haría un Single. Si trae ETag y coincide
+ * con el If-None-Match responde 304 sin escribir el cuerpo, igual que el ResponseEntityResultHandler.
+ * Los errores del Observable siguen llegando al GlobalExceptionHandler.
+ */
+public class ObservableResponseEntityResultHandler extends AbstractMessageWriterResultHandler
+    implements HandlerResultHandler {
+
+  /**
+   * Constructor, se ordena antes que el ResponseEntityResultHandler de WebFlux.
+   *
+   * @param messageWriters          writers de los codecs.
+   * @param contentTypeResolver     resolución del content type.
+   * @param reactiveAdapterRegistry adaptadores de tipos reactivos.
+   */
+  public ObservableResponseEntityResultHandler(List<HttpMessageWriter<?>> messageWriters,
+                                               RequestedContentTypeResolver contentTypeResolver,
+                                               ReactiveAdapterRegistry reactiveAdapterRegistry) {
+    super(messageWriters, contentTypeResolver, reactiveAdapterRegistry);
+    setOrder(Ordered.HIGHEST_PRECEDENCE);
+  }
+
+  @Override
+  public boolean supports(HandlerResult result) {
+    return Observable.class.equals(result.getReturnType().resolve())
+        && ResponseEntity.class.equals(result.getReturnType().getGeneric().resolve());
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Mono<Void> handleResult(ServerWebExchange exchange, HandlerResult result) {
+    Observable<ResponseEntity<?>> entities = (Observable<ResponseEntity<?>>) result.getReturnValue();
+    MethodParameter bodyParameter = result.getReturnTypeSource().nested().nested();
+    return Mono.from(entities.toFlowable(BackpressureStrategy.BUFFER)).flatMap(entity -> {
+      exchange.getResponse().setRawStatusCode(entity.getStatusCodeValue());
+      exchange.getResponse().getHeaders().putAll(entity.getHeaders());
+      String etag = entity.getHeaders().getETag();
+      if (entity.getStatusCode() == HttpStatus.NOT_MODIFIED || etag != null && exchange.checkNotModified(etag)) {
+        return exchange.getResponse().setComplete();
+      }
+      return writeBody(entity.getBody(), bodyParameter, exchange);
+    });
+  }
+}
@@ -0,0 +1,40 @@
+package org.nttdatabc.mscustomer.config;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Equivalente en Spring MVC del ObservableResponseEntityResultHandler: Spring MVC junta los valores
+ * de un Observable en una lista y serializaba los ResponseEntity como cuerpo. Este handler responde
+ * el único ResponseEntity que emite, con su status, headers y la comprobación del ETag.
+ */
+public class ObservableResponseEntityReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+  @Override
+  public boolean supportsReturnType(MethodParameter returnType) {
+    return Observable.class.isAssignableFrom(returnType.getParameterType())
+        && ResponseEntity.class.equals(ResolvableType.forMethodParameter(returnType).getGeneric().resolve());
+  }
+
+  @Override
+  public void handleReturnValue(Object returnValue, MethodParameter returnType, ModelAndViewContainer mavContainer,
+                                NativeWebRequest webRequest) throws Exception {
+    if (returnValue == null) {
+      mavContainer.setRequestHandled(true);
+      return;
+    }
+    DeferredResult<Object> result = new DeferredResult<>();
+    Disposable subscription = ((Observable<?>) returnValue).firstOrError()
+        .subscribe(result::setResult, result::setErrorResult);
+    result.onCompletion(subscription::dispose);
+    WebAsyncUtils.getAsyncManager(webRequest).startDeferredResultProcessing(result, mavContainer);
+  }
+}
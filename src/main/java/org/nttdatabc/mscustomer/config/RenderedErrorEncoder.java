@@ -0,0 +1,51 @@
+package org.nttdatabc.mscustomer.config;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.nttdatabc.mscustomer.utils.exceptions.dto.RenderedError;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+/**
+ * Escribe en WebFlux un RenderedError con los bytes del content type negociado (JSON o Smile).
+ */
+public class RenderedErrorEncoder implements HttpMessageEncoder<RenderedError> {
+  private static final List<MimeType> MIME_TYPES = List.of(MediaType.APPLICATION_JSON, RenderedError.APPLICATION_SMILE);
+
+  @Override
+  public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+    if (!RenderedError.class.isAssignableFrom(elementType.toClass())) {
+      return false;
+    }
+    return mimeType == null || MIME_TYPES.stream().anyMatch(supported -> supported.isCompatibleWith(mimeType));
+  }
+
+  @Override
+  public Flux<DataBuffer> encode(Publisher<? extends RenderedError> inputStream, DataBufferFactory bufferFactory,
+                                 ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+    return Flux.from(inputStream).map(error -> encodeValue(error, bufferFactory, elementType, mimeType, hints));
+  }
+
+  @Override
+  public DataBuffer encodeValue(RenderedError error, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                MimeType mimeType, Map<String, Object> hints) {
+    return bufferFactory.wrap(error.bytesFor(mimeType == null ? null : new MediaType(mimeType)));
+  }
+
+  @Override
+  public List<MimeType> getEncodableMimeTypes() {
+    return MIME_TYPES;
+  }
+
+  @Override
+  public List<MediaType> getStreamingMediaTypes() {
+    return Collections.emptyList();
+  }
+}
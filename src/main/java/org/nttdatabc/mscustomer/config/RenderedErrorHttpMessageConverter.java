@@ -0,0 +1,45 @@
+package org.nttdatabc.mscustomer.config;
+
+import java.io.IOException;
+import org.nttdatabc.mscustomer.utils.exceptions.dto.RenderedError;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Escribe en Spring MVC un RenderedError con los bytes del content type negociado (JSON o Smile).
+ * Solo escribe: los errores nunca llegan como cuerpo de un request.
+ */
+public class RenderedErrorHttpMessageConverter extends AbstractHttpMessageConverter<RenderedError> {
+
+  public RenderedErrorHttpMessageConverter() {
+    super(MediaType.APPLICATION_JSON, RenderedError.APPLICATION_SMILE);
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return RenderedError.class == clazz;
+  }
+
+  @Override
+  public boolean canRead(Class<?> clazz, MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  protected RenderedError readInternal(Class<? extends RenderedError> clazz, HttpInputMessage inputMessage) {
+    throw new HttpMessageNotReadableException("RenderedError is write-only", inputMessage);
+  }
+
+  @Override
+  protected Long getContentLength(RenderedError error, MediaType contentType) {
+    return (long) error.bytesFor(contentType).length;
+  }
+
+  @Override
+  protected void writeInternal(RenderedError error, HttpOutputMessage outputMessage) throws IOException {
+    outputMessage.getBody().write(error.bytesFor(outputMessage.getHeaders().getContentType()));
+  }
+}
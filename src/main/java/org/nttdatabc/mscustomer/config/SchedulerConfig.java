@@ -0,0 +1,78 @@
+package org.nttdatabc.mscustomer.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de los Bulkhead sobre los que el controller suscribe al servicio, uno por clase
+ * de operación para que una operación lenta no deje sin hilos a las demás.
+ * Cada uno admite max-threads en ejecución más queue-capacity en espera, el resto recibe 429.
+ */
+@Configuration
+public class SchedulerConfig {
+  public static final String READ_BULKHEAD = "reads";
+  public static final String WRITE_BULKHEAD = "writes";
+  public static final String SIGNER_BULKHEAD = "signers";
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Value("${mscustomer.data.mode:blocking}")
+  private String dataMode;
+
+  @Bean(READ_BULKHEAD)
+  public Bulkhead readBulkhead(@Value("${mscustomer.bulkhead.reads.max-threads:64}") int maxThreads,
+                               @Value("${mscustomer.bulkhead.reads.queue-capacity:256}") int queueCapacity) {
+    return bulkhead(READ_BULKHEAD, maxThreads, queueCapacity);
+  }
+
+  @Bean(WRITE_BULKHEAD)
+  public Bulkhead writeBulkhead(@Value("${mscustomer.bulkhead.writes.max-threads:32}") int maxThreads,
+                                @Value("${mscustomer.bulkhead.writes.queue-capacity:128}") int queueCapacity) {
+    return bulkhead(WRITE_BULKHEAD, maxThreads, queueCapacity);
+  }
+
+  @Bean(SIGNER_BULKHEAD)
+  public Bulkhead signerBulkhead(@Value("${mscustomer.bulkhead.signers.max-threads:16}") int maxThreads,
+                                 @Value("${mscustomer.bulkhead.signers.queue-capacity:64}") int queueCapacity) {
+    return bulkhead(SIGNER_BULKHEAD, maxThreads, queueCapacity);
+  }
+
+  /**
+   * Con el repositorio bloqueante cada suscripción ocupa un hilo de un pool acotado, publicado como
+   * métricas executor.* con name=customer.{bulkhead}. Con el driver reactivo no se cambia de hilo
+   * (trampoline) y el Bulkhead solo limita las operaciones en curso contra Mongo.
+   *
+   * @param name          nombre del compartimento.
+   * @param maxThreads    hilos del pool.
+   * @param queueCapacity tareas en espera.
+   * @return el Bulkhead.
+   */
+  private Bulkhead bulkhead(String name, int maxThreads, int queueCapacity) {
+    int capacity = maxThreads + queueCapacity;
+    if ("reactive".equals(dataMode)) {
+      return new Bulkhead(name, capacity, Schedulers.trampoline(), meterRegistry);
+    }
+    AtomicInteger threads = new AtomicInteger();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60L, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+          Thread thread = new Thread(runnable, "customer-" + name + "-" + threads.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+    executor.allowCoreThreadTimeOut(true);
+    ExecutorService monitored = ExecutorServiceMetrics.monitor(meterRegistry, executor, "customer." + name);
+    return new Bulkhead(name, capacity, Schedulers.from(monitored), meterRegistry);
+  }
+}
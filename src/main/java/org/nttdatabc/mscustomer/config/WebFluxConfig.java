@@ -0,0 +1,65 @@
+package org.nttdatabc.mscustomer.config;
+
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ReactiveAdapterRegistry;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.web.reactive.accept.RequestedContentTypeResolver;
+
+/**
+ * Configuración del modo spring.main.web-application-type=reactive: el mismo CustomerControllerApi
+ * y el mismo GlobalExceptionHandler servidos por WebFlux sobre Netty.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class WebFluxConfig {
+
+  /**
+   * Con spring-boot-starter-web en el classpath Spring Boot elegiría Tomcat también para WebFlux;
+   * se fija Netty para atender con los hilos del event loop.
+   *
+   * @param serverCustomizers customizers de Netty.
+   * @return factory del servidor Netty.
+   */
+  @Bean
+  public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(ObjectProvider<NettyServerCustomizer> serverCustomizers) {
+    NettyReactiveWebServerFactory serverFactory = new NettyReactiveWebServerFactory();
+    serverFactory.getServerCustomizers().addAll(serverCustomizers.orderedStream().collect(Collectors.toList()));
+    return serverFactory;
+  }
+
+  /**
+   * Los codecs custom se consultan antes que los de Jackson.
+   *
+   * @return registro del encoder de los errores ya serializados del GlobalExceptionHandler.
+   */
+  @Bean
+  public CodecCustomizer renderedErrorCodecCustomizer() {
+    return configurer -> configurer.customCodecs().register(new RenderedErrorEncoder());
+  }
+
+  /**
+   * WebFlux solo acepta un ResponseEntity por respuesta y rechaza Observable (multi-valor), que usan
+   * getAllCustomers y getAuthorizedSignersByCustomerId; este handler responde el único que emiten.
+   *
+   * @param serverCodecConfigurer  codecs de WebFlux.
+   * @param contentTypeResolver    resolución del content type.
+   * @param reactiveAdapterRegistry adaptadores de tipos reactivos.
+   * @return handler del Observable de ResponseEntity.
+   */
+  @Bean
+  public ObservableResponseEntityResultHandler observableResponseEntityResultHandler(
+      ServerCodecConfigurer serverCodecConfigurer,
+      @Qualifier("webFluxContentTypeResolver") RequestedContentTypeResolver contentTypeResolver,
+      @Qualifier("webFluxAdapterRegistry") ReactiveAdapterRegistry reactiveAdapterRegistry) {
+    return new ObservableResponseEntityResultHandler(serverCodecConfigurer.getWriters(), contentTypeResolver,
+        reactiveAdapterRegistry);
+  }
+}
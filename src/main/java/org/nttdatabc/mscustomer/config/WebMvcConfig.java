@@ -0,0 +1,45 @@
+package org.nttdatabc.mscustomer.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+/**
+ * Configuración del modo spring.main.web-application-type=servlet.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WebMvcConfig {
+
+  @Autowired
+  private RequestMappingHandlerAdapter requestMappingHandlerAdapter;
+
+  /**
+   * Registra el ObservableResponseEntityReturnValueHandler primero; los handlers agregados con
+   * WebMvcConfigurer van después de los de Spring y nunca se consultarían para un Observable.
+   */
+  @PostConstruct
+  public void registerObservableResponseEntityHandler() {
+    List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>();
+    handlers.add(new ObservableResponseEntityReturnValueHandler());
+    handlers.addAll(requestMappingHandlerAdapter.getReturnValueHandlers());
+    requestMappingHandlerAdapter.setReturnValueHandlers(handlers);
+  }
+
+  /**
+   * Spring Boot agrega los converters declarados como bean antes que los suyos. Es static porque
+   * esta configuración depende del RequestMappingHandlerAdapter, que se arma con los converters.
+   *
+   * @return converter de los errores ya serializados del GlobalExceptionHandler.
+   */
+  @Bean
+  public static RenderedErrorHttpMessageConverter renderedErrorHttpMessageConverter() {
+    return new RenderedErrorHttpMessageConverter();
+  }
+}
@@ -1,18 +1,31 @@
 package org.nttdatabc.mscustomer.controller;
 
+import static org.nttdatabc.mscustomer.config.SchedulerConfig.READ_BULKHEAD;
+import static org.nttdatabc.mscustomer.config.SchedulerConfig.SIGNER_BULKHEAD;
+import static org.nttdatabc.mscustomer.config.SchedulerConfig.WRITE_BULKHEAD;
 import static org.nttdatabc.mscustomer.utils.Constantes.PREFIX_PATH;
+import static org.nttdatabc.mscustomer.utils.Utilitarios.versionOf;
 
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Single;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
+import org.nttdatabc.mscustomer.config.Bulkhead;
 import org.nttdatabc.mscustomer.model.AuthorizedSigner;
 import org.nttdatabc.mscustomer.model.Customer;
-import org.nttdatabc.mscustomer.service.CustomerServiceImpl;
+import org.nttdatabc.mscustomer.model.CustomerBatchResult;
+import org.nttdatabc.mscustomer.model.CustomerLookupRequest;
+import org.nttdatabc.mscustomer.model.CustomerLookupResponse;
+import org.nttdatabc.mscustomer.model.CustomerPage;
+import org.nttdatabc.mscustomer.model.CustomerPatch;
+import org.nttdatabc.mscustomer.model.CustomerSummary;
+import org.nttdatabc.mscustomer.model.CustomerSummaryPage;
+import org.nttdatabc.mscustomer.service.CustomerService;
 import org.nttdatabc.mscustomer.utils.exceptions.errors.ErrorResponseException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -27,70 +40,208 @@ import org.springframework.web.bind.annotation.RestController;
 public class CustomerController implements CustomerControllerApi {
 
   @Autowired
-  private CustomerServiceImpl customerServiceImpl;
+  private CustomerService customerService;
+
+  @Autowired
+  private CustomerMetrics customerMetrics;
+
+  @Autowired
+  @Qualifier(READ_BULKHEAD)
+  private Bulkhead readBulkhead;
+
+  @Autowired
+  @Qualifier(WRITE_BULKHEAD)
+  private Bulkhead writeBulkhead;
+
+  @Autowired
+  @Qualifier(SIGNER_BULKHEAD)
+  private Bulkhead signerBulkhead;
 
   @Override
   public Maybe<ResponseEntity<Object>> createCustomer(Customer customer) throws ErrorResponseException {
-    return customerServiceImpl.createCustomerService(customer)
-        .subscribeOn(Schedulers.io())
+    return customerService.createCustomerService(customer)
+        .compose(writeBulkhead.completable())
         .doOnSubscribe(disposable -> log.debug("createCustomer:: init"))
         .andThen(Maybe.just(ResponseEntity.status(HttpStatus.CREATED).build()))
-        .doOnSuccess(response -> log.info("createCustomer:: completed"));
+        .doOnSuccess(response -> log.info("createCustomer:: completed"))
+        .compose(customerMetrics.maybe("createCustomer"));
+  }
+
+  @Override
+  public Single<ResponseEntity<List<CustomerBatchResult>>> createCustomersBatch(List<Customer> customers) throws ErrorResponseException {
+    return customerService.createCustomersBatchService(customers)
+        .compose(writeBulkhead.single())
+        .doOnSubscribe(disposable -> log.debug("createCustomersBatch:: init"))
+        .map(ResponseEntity::ok)
+        .doOnSuccess(response -> log.info("createCustomersBatch:: completed"))
+        .compose(customerMetrics.single("createCustomersBatch"));
   }
 
   @Override
-  public Observable<ResponseEntity<List<Customer>>> getAllCustomers() {
-    return customerServiceImpl.getAllCustomersService()
-        .subscribeOn(Schedulers.io())
+  @Deprecated
+  public Observable<ResponseEntity<List<Customer>>> getAllCustomers(String ifNoneMatch) {
+    return customerService.getCollectionVersionService()
+        .map(CustomerEtags::collection)
+        .flatMapObservable(etag -> CustomerEtags.matches(ifNoneMatch, etag)
+            ? Observable.just(CustomerEtags.<List<Customer>>notModified(etag))
+            : customerService.getAllCustomersService().map(customers -> ResponseEntity.ok().eTag(etag).body(customers)))
+        .switchIfEmpty(Observable.defer(() -> customerService.getAllCustomersService().map(ResponseEntity::ok)))
+        .compose(readBulkhead.observable())
         .doOnSubscribe(disposable -> log.debug("getAllCustomers:: init"))
         .doOnComplete(() -> log.info("getAllCustomers: completed"))
-        .map(ResponseEntity::ok);
+        .compose(customerMetrics.observable("getAllCustomers"));
+  }
+
+  @Override
+  public Single<ResponseEntity<CustomerPage>> getCustomersPage(Integer limit, String cursor) throws ErrorResponseException {
+    return customerService.getCustomersPageService(limit, cursor)
+        .compose(readBulkhead.single())
+        .doOnSubscribe(disposable -> log.debug("getCustomersPage:: init"))
+        .map(ResponseEntity::ok)
+        .doOnSuccess(page -> log.debug("getCustomersPage:: completed"))
+        .compose(customerMetrics.single("getCustomersPage"));
+  }
+
+  @Override
+  public Single<ResponseEntity<CustomerSummaryPage>> getCustomersSummaryPage(Integer limit, String cursor) throws ErrorResponseException {
+    return customerService.getCustomersSummaryPageService(limit, cursor)
+        .compose(readBulkhead.single())
+        .doOnSubscribe(disposable -> log.debug("getCustomersSummaryPage:: init"))
+        .map(ResponseEntity::ok)
+        .doOnSuccess(page -> log.debug("getCustomersSummaryPage:: completed"))
+        .compose(customerMetrics.single("getCustomersSummaryPage"));
+  }
+
+  @Override
+  public Single<ResponseEntity<CustomerPage>> searchCustomers(String name, String email, String phone, Integer limit, String cursor)
+      throws ErrorResponseException {
+    return customerService.searchCustomersService(name, email, phone, limit, cursor)
+        .compose(readBulkhead.single())
+        .doOnSubscribe(disposable -> log.debug("searchCustomers:: init"))
+        .map(ResponseEntity::ok)
+        .doOnSuccess(page -> log.debug("searchCustomers:: completed"))
+        .compose(customerMetrics.single("searchCustomers"));
+  }
+
+  @Override
+  public Flowable<Customer> streamCustomers() {
+    return customerService.streamAllCustomersService()
+        .compose(readBulkhead.flowable())
+        .doOnSubscribe(subscription -> log.debug("streamCustomers:: init"))
+        .doOnComplete(() -> log.info("streamCustomers:: completed"))
+        .compose(customerMetrics.flowable("streamCustomers"));
+  }
+
+  @Override
+  public Flowable<CustomerSummary> streamCustomerSummaries() {
+    return customerService.streamAllCustomerSummariesService()
+        .compose(readBulkhead.flowable())
+        .doOnSubscribe(subscription -> log.debug("streamCustomerSummaries:: init"))
+        .doOnComplete(() -> log.info("streamCustomerSummaries:: completed"))
+        .compose(customerMetrics.flowable("streamCustomerSummaries"));
   }
 
   //
   @Override
-  public Single<ResponseEntity<Customer>> getCustomerById(String customerId) throws ErrorResponseException {
-    return customerServiceImpl.getCustomerByIdService(customerId)
-        .subscribeOn(Schedulers.io())
+  public Single<ResponseEntity<Customer>> getCustomerById(String customerId, String ifNoneMatch) throws ErrorResponseException {
+    Single<ResponseEntity<Customer>> customer = customerService.getCustomerByIdService(customerId)
+        .map(found -> ResponseEntity.ok().eTag(CustomerEtags.customer(found.getId(), versionOf(found))).body(found));
+    Single<ResponseEntity<Customer>> response = ifNoneMatch == null ? customer
+        : customerService.getCustomerVersionService(customerId).flatMap(version -> {
+          String etag = CustomerEtags.customer(customerId, version);
+          return CustomerEtags.matches(ifNoneMatch, etag) ? Single.just(CustomerEtags.notModified(etag)) : customer;
+        });
+    return response
+        .compose(readBulkhead.single())
         .doOnSubscribe(disposable -> log.debug("getCustomerById:: init"))
+        .doOnSuccess(cus -> log.debug("getCustomerById:: completed"))
+        .compose(customerMetrics.single("getCustomerById"));
+  }
+
+  @Override
+  public Single<ResponseEntity<CustomerSummary>> getCustomerSummaryById(String customerId) throws ErrorResponseException {
+    return customerService.getCustomerSummaryByIdService(customerId)
+        .compose(readBulkhead.single())
+        .doOnSubscribe(disposable -> log.debug("getCustomerSummaryById:: init"))
         .map(ResponseEntity::ok)
-        .doOnSuccess(cus -> log.debug("getCustomerById:: completed"));
+        .doOnSuccess(summary -> log.debug("getCustomerSummaryById:: completed"))
+        .compose(customerMetrics.single("getCustomerSummaryById"));
   }
 
+  @Override
+  public Single<ResponseEntity<CustomerLookupResponse>> lookupCustomers(CustomerLookupRequest customerLookupRequest) throws ErrorResponseException {
+    return customerService.lookupCustomersService(customerLookupRequest)
+        .compose(readBulkhead.single())
+        .doOnSubscribe(disposable -> log.debug("lookupCustomers:: init"))
+        .map(ResponseEntity::ok)
+        .doOnSuccess(response -> log.debug("lookupCustomers:: completed"))
+        .compose(customerMetrics.single("lookupCustomers"));
+  }
 
   @Override
   public Maybe<ResponseEntity<Object>> updateCustomer(Customer customer) throws ErrorResponseException {
-    return customerServiceImpl.updateCustomerService(customer)
-        .subscribeOn(Schedulers.io())
+    return customerService.updateCustomerService(customer)
+        .compose(writeBulkhead.completable())
         .doOnSubscribe(disposable -> log.debug("updateCustomer:: init"))
         .andThen(Maybe.just(ResponseEntity.status(HttpStatus.OK).build()))
-        .doOnSuccess(response -> log.info("updateCustomer:: completed"));
+        .doOnSuccess(response -> log.info("updateCustomer:: completed"))
+        .compose(customerMetrics.maybe("updateCustomer"));
+  }
+
+  @Override
+  public Maybe<ResponseEntity<Object>> patchCustomer(String customerId, CustomerPatch customerPatch) throws ErrorResponseException {
+    return customerService.patchCustomerService(customerId, customerPatch)
+        .compose(writeBulkhead.completable())
+        .doOnSubscribe(disposable -> log.debug("patchCustomer:: init"))
+        .andThen(Maybe.just(ResponseEntity.status(HttpStatus.OK).build()))
+        .doOnSuccess(response -> log.info("patchCustomer:: completed"))
+        .compose(customerMetrics.maybe("patchCustomer"));
   }
 
   @Override
   public Maybe<ResponseEntity<Object>> deleteCustomerById(String customerId) throws ErrorResponseException {
-    return customerServiceImpl.deleteCustomerByIdService(customerId)
-        .subscribeOn(Schedulers.io())
+    return customerService.deleteCustomerByIdService(customerId)
+        .compose(writeBulkhead.completable())
         .doOnSubscribe(disposable -> log.info("deleteCustomerById:: init"))
         .andThen(Maybe.just(ResponseEntity.status(HttpStatus.OK).build()))
-        .doOnSuccess(objectResponseEntity -> log.info("deleteCustomerById:: completed"));
+        .doOnSuccess(objectResponseEntity -> log.info("deleteCustomerById:: completed"))
+        .compose(customerMetrics.maybe("deleteCustomerById"));
   }
 
   @Override
-  public Observable<ResponseEntity<List<AuthorizedSigner>>> getAuthorizedSignersByCustomerId(String customerId) throws ErrorResponseException {
-    return customerServiceImpl.getAuthorizedSignersByCustomerIdService(customerId)
-        .subscribeOn(Schedulers.io())
+  public Observable<ResponseEntity<List<AuthorizedSigner>>> getAuthorizedSignersByCustomerId(String customerId, String ifNoneMatch)
+      throws ErrorResponseException {
+    return customerService.getCustomerVersionService(customerId)
+        .flatMapObservable(version -> {
+          String etag = CustomerEtags.customer(customerId, version);
+          return CustomerEtags.matches(ifNoneMatch, etag)
+              ? Observable.just(CustomerEtags.<List<AuthorizedSigner>>notModified(etag))
+              : customerService.getAuthorizedSignersByCustomerIdService(customerId)
+                  .map(authorizedSigners -> ResponseEntity.ok().eTag(etag).body(authorizedSigners));
+        })
+        .compose(signerBulkhead.observable())
         .doOnSubscribe(disposable -> log.info("getAuthorizedSignersByCustomerId:: init"))
         .doOnComplete(() -> log.info("getAuthorizedSignersByCustomerId:: completed"))
-        .map(authorizedSigners -> ResponseEntity.ok().body(authorizedSigners));
+        .compose(customerMetrics.observable("getAuthorizedSignersByCustomerId"));
+  }
+
+  @Override
+  public Single<ResponseEntity<CustomerSummaryPage>> getCustomersBySignerDni(String dni, Integer limit, String cursor) throws ErrorResponseException {
+    return customerService.getCustomersBySignerDniService(dni, limit, cursor)
+        .compose(signerBulkhead.single())
+        .doOnSubscribe(disposable -> log.debug("getCustomersBySignerDni:: init"))
+        .map(ResponseEntity::ok)
+        .doOnSuccess(page -> log.debug("getCustomersBySignerDni:: completed"))
+        .compose(customerMetrics.single("getCustomersBySignerDni"));
   }
 
   @Override
   public Maybe<ResponseEntity<Object>> createAuthorizedSignersByCustomerId(String customerId, AuthorizedSigner auth) throws ErrorResponseException {
-    return customerServiceImpl.createAuthorizedSignersByCustomerId(customerId, auth)
-        .subscribeOn(Schedulers.io())
+    return customerService.createAuthorizedSignersByCustomerId(customerId, auth)
+        .compose(signerBulkhead.completable())
         .doOnSubscribe(disposable -> log.info("createAuthorizedSignersByCustomerId:: init"))
         .andThen(Maybe.just(ResponseEntity.status(HttpStatus.CREATED).build()))
-        .doOnSuccess(objectResponseEntity -> log.info("createAuthorizedSignersByCustomerId:: completed"));
+        .doOnSuccess(objectResponseEntity -> log.info("createAuthorizedSignersByCustomerId:: completed"))
+        .compose(customerMetrics.maybe("createAuthorizedSignersByCustomerId"));
   }
 }
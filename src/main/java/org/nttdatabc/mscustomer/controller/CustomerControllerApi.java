@@ -1,6 +1,7 @@
 package org.nttdatabc.mscustomer.controller;
 
 import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Single;
@@ -19,6 +20,13 @@ import javax.validation.Valid;
 import org.nttdatabc.mscustomer.api.ApiUtil;
 import org.nttdatabc.mscustomer.model.AuthorizedSigner;
 import org.nttdatabc.mscustomer.model.Customer;
+import org.nttdatabc.mscustomer.model.CustomerBatchResult;
+import org.nttdatabc.mscustomer.model.CustomerLookupRequest;
+import org.nttdatabc.mscustomer.model.CustomerLookupResponse;
+import org.nttdatabc.mscustomer.model.CustomerPage;
+import org.nttdatabc.mscustomer.model.CustomerPatch;
+import org.nttdatabc.mscustomer.model.CustomerSummary;
+import org.nttdatabc.mscustomer.model.CustomerSummaryPage;
 import org.nttdatabc.mscustomer.utils.exceptions.errors.ErrorResponseException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -26,8 +34,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.context.request.NativeWebRequest;
 
 
@@ -62,7 +72,7 @@ public interface CustomerControllerApi {
   @RequestMapping(
       method = RequestMethod.POST,
       value = "/customer/authorized_signers/{customer_id}",
-      consumes = {"application/json"}
+      consumes = {"application/json", "application/x-jackson-smile"}
   )
   default Maybe<ResponseEntity<Object>> createAuthorizedSignersByCustomerId(
       @Parameter(name = "customer_id", description = "ID del cliente", required = true, in = ParameterIn.PATH) @PathVariable("customer_id") String customerId,
@@ -92,7 +102,7 @@ public interface CustomerControllerApi {
   @RequestMapping(
       method = RequestMethod.POST,
       value = "/customer",
-      consumes = {"application/json"}
+      consumes = {"application/json", "application/x-jackson-smile"}
   )
   default Maybe<ResponseEntity<Object>> createCustomer(
       @Parameter(name = "Customer", description = "", required = true) @Valid @RequestBody Customer customer
@@ -102,6 +112,40 @@ public interface CustomerControllerApi {
   }
 
 
+  /**
+   * POST /customer/batch : Crear clientes en lote.
+   * Valida todo el lote, descarta identificadores repetidos o ya registrados e inserta el resto.
+   *
+   * @param customer (required).
+   * @return Resultado por cada cliente del lote (status code 200).
+   * or Error en Request (status code 400).
+   */
+  @Operation(
+      operationId = "createCustomersBatch",
+      summary = "Crear clientes en lote",
+      description = "Valida todo el lote, descarta identificadores repetidos o ya registrados e inserta el resto.",
+      tags = {"customers"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Resultado por cada cliente del lote", content = {
+              @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = CustomerBatchResult.class)))
+          }),
+          @ApiResponse(responseCode = "400", description = "Error en Request")
+      }
+  )
+  @RequestMapping(
+      method = RequestMethod.POST,
+      value = "/customer/batch",
+      produces = {"application/json", "application/x-jackson-smile"},
+      consumes = {"application/json", "application/x-jackson-smile"}
+  )
+  default Single<ResponseEntity<List<CustomerBatchResult>>> createCustomersBatch(
+      @Parameter(name = "Customer", description = "", required = true) @Valid @RequestBody List<@Valid Customer> customer
+  ) throws ErrorResponseException {
+    return Single.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
+
+  }
+
+
   /**
    * DELETE /customer/{customer_id} : Eliminar un cliente.
    *
@@ -135,25 +179,32 @@ public interface CustomerControllerApi {
   /**
    * GET /customer : Obtener lista de todos los clientes.
    *
+   * @param ifNoneMatch ETag de la respuesta anterior (optional).
    * @return Lista de clientes obtenida con éxito (status code 200).
+   * or Sin cambios desde el ETag recibido (status code 304).
+   * @deprecated carga toda la colección en memoria, usar /customer/page o /customer/stream.
    */
+  @Deprecated
   @Operation(
       operationId = "getAllCustomers",
       summary = "Obtener lista de todos los clientes",
+      description = "Carga toda la colección en memoria. Usar /customer/page o /customer/stream.",
+      deprecated = true,
       tags = {"customers"},
       responses = {
           @ApiResponse(responseCode = "200", description = "Lista de clientes obtenida con éxito", content = {
               @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Customer.class)))
-          })
+          }),
+          @ApiResponse(responseCode = "304", description = "Sin cambios desde el ETag recibido")
       }
   )
   @RequestMapping(
       method = RequestMethod.GET,
       value = "/customer",
-      produces = {"application/json"}
+      produces = {"application/json", "application/x-jackson-smile"}
   )
   default Observable<ResponseEntity<List<Customer>>> getAllCustomers(
-
+      @Parameter(name = "If-None-Match", description = "ETag de la respuesta anterior, si no cambió se responde 304", in = ParameterIn.HEADER) @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch
   ) {
     getRequest().ifPresent(request -> {
       for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
@@ -169,11 +220,48 @@ public interface CustomerControllerApi {
   }
 
 
+  /**
+   * GET /customer/authorized_signers/by-dni/{dni} : Obtener las empresas que tienen al signatario (paginación por cursor).
+   *
+   * @param dni    DNI del signatario (required).
+   * @param limit  Cantidad máxima de clientes por página (optional).
+   * @param cursor Cursor devuelto por la página anterior (optional).
+   * @return Página de resúmenes de clientes obtenida con éxito (status code 200).
+   * or Error en request (status code 400).
+   */
+  @Operation(
+      operationId = "getCustomersBySignerDni",
+      summary = "Obtener las empresas que tienen al signatario (paginación por cursor)",
+      tags = {"customers"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Página de resúmenes de clientes obtenida con éxito", content = {
+              @Content(mediaType = "application/json", schema = @Schema(implementation = CustomerSummaryPage.class))
+          }),
+          @ApiResponse(responseCode = "400", description = "Error en request")
+      }
+  )
+  @RequestMapping(
+      method = RequestMethod.GET,
+      value = "/customer/authorized_signers/by-dni/{dni}",
+      produces = {"application/json", "application/x-jackson-smile"}
+  )
+  default Single<ResponseEntity<CustomerSummaryPage>> getCustomersBySignerDni(
+      @Parameter(name = "dni", description = "DNI del signatario", required = true, in = ParameterIn.PATH) @PathVariable("dni") String dni,
+      @Parameter(name = "limit", description = "Cantidad máxima de clientes por página", in = ParameterIn.QUERY) @Valid @RequestParam(value = "limit", required = false) Integer limit,
+      @Parameter(name = "cursor", description = "Cursor devuelto por la página anterior", in = ParameterIn.QUERY) @Valid @RequestParam(value = "cursor", required = false) String cursor
+  ) throws ErrorResponseException {
+    return Single.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
+
+  }
+
+
   /**
    * GET /customer/authorized_signers/{customer_id} : Obtener los signatarios autorizados de un cliente.
    *
-   * @param customerId ID del cliente (required).
+   * @param customerId  ID del cliente (required).
+   * @param ifNoneMatch ETag de la respuesta anterior (optional).
    * @return Lista de signatarios autorizados obtenida con éxito (status code 200).
+   * or Sin cambios desde el ETag recibido (status code 304).
    * or Error en request (status code 400).
    * or Recurso no encontrado (status code 404).
    */
@@ -185,6 +273,7 @@ public interface CustomerControllerApi {
           @ApiResponse(responseCode = "200", description = "Lista de signatarios autorizados obtenida con éxito", content = {
               @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = AuthorizedSigner.class)))
           }),
+          @ApiResponse(responseCode = "304", description = "Sin cambios desde el ETag recibido"),
           @ApiResponse(responseCode = "400", description = "Error en request"),
           @ApiResponse(responseCode = "404", description = "Recurso no encontrado")
       }
@@ -192,10 +281,11 @@ public interface CustomerControllerApi {
   @RequestMapping(
       method = RequestMethod.GET,
       value = "/customer/authorized_signers/{customer_id}",
-      produces = {"application/json"}
+      produces = {"application/json", "application/x-jackson-smile"}
   )
   default Observable<ResponseEntity<List<AuthorizedSigner>>> getAuthorizedSignersByCustomerId(
-      @Parameter(name = "customer_id", description = "ID del cliente", required = true, in = ParameterIn.PATH) @PathVariable("customer_id") String customerId
+      @Parameter(name = "customer_id", description = "ID del cliente", required = true, in = ParameterIn.PATH) @PathVariable("customer_id") String customerId,
+      @Parameter(name = "If-None-Match", description = "ETag de la respuesta anterior, si no cambió se responde 304", in = ParameterIn.HEADER) @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch
   ) throws ErrorResponseException {
     getRequest().ifPresent(request -> {
       for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
@@ -214,8 +304,10 @@ public interface CustomerControllerApi {
   /**
    * GET /customer/{customer_id} : Obtener información de un cliente.
    *
-   * @param customerId ID del cliente (required).
+   * @param customerId  ID del cliente (required).
+   * @param ifNoneMatch ETag de la respuesta anterior (optional).
    * @return Información del cliente obtenida con éxito (status code 200).
+   * or Sin cambios desde el ETag recibido (status code 304).
    * or Error Request (status code 400).
    * or Recurso no encontrado (status code 404).
    */
@@ -227,6 +319,7 @@ public interface CustomerControllerApi {
           @ApiResponse(responseCode = "200", description = "Información del cliente obtenida con éxito", content = {
               @Content(mediaType = "application/json", schema = @Schema(implementation = Customer.class))
           }),
+          @ApiResponse(responseCode = "304", description = "Sin cambios desde el ETag recibido"),
           @ApiResponse(responseCode = "400", description = "Error Request"),
           @ApiResponse(responseCode = "404", description = "Recurso no encontrado")
       }
@@ -234,10 +327,11 @@ public interface CustomerControllerApi {
   @RequestMapping(
       method = RequestMethod.GET,
       value = "/customer/{customer_id}",
-      produces = {"application/json"}
+      produces = {"application/json", "application/x-jackson-smile"}
   )
   default Single<ResponseEntity<Customer>> getCustomerById(
-      @Parameter(name = "customer_id", description = "ID del cliente", required = true, in = ParameterIn.PATH) @PathVariable("customer_id") String customerId
+      @Parameter(name = "customer_id", description = "ID del cliente", required = true, in = ParameterIn.PATH) @PathVariable("customer_id") String customerId,
+      @Parameter(name = "If-None-Match", description = "ETag de la respuesta anterior, si no cambió se responde 304", in = ParameterIn.HEADER) @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch
   ) throws ErrorResponseException {
     getRequest().ifPresent(request -> {
       for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
@@ -253,6 +347,270 @@ public interface CustomerControllerApi {
   }
 
 
+  /**
+   * GET /customer/{customer_id}?view=summary : Obtener el resumen de un cliente.
+   *
+   * @param customerId ID del cliente (required).
+   * @return Resumen del cliente obtenido con éxito (status code 200).
+   * or Recurso no encontrado (status code 404).
+   */
+  @Operation(
+      operationId = "getCustomerSummaryById",
+      summary = "Obtener el resumen de un cliente",
+      tags = {"customers"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Resumen del cliente obtenido con éxito", content = {
+              @Content(mediaType = "application/json", schema = @Schema(implementation = CustomerSummary.class))
+          }),
+          @ApiResponse(responseCode = "404", description = "Recurso no encontrado")
+      }
+  )
+  @RequestMapping(
+      method = RequestMethod.GET,
+      value = "/customer/{customer_id}",
+      params = "view=summary",
+      produces = {"application/json", "application/x-jackson-smile"}
+  )
+  default Single<ResponseEntity<CustomerSummary>> getCustomerSummaryById(
+      @Parameter(name = "customer_id", description = "ID del cliente", required = true, in = ParameterIn.PATH) @PathVariable("customer_id") String customerId
+  ) throws ErrorResponseException {
+    return Single.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
+
+  }
+
+
+  /**
+   * GET /customer/page : Obtener una página de clientes (paginación por cursor).
+   *
+   * @param limit  Cantidad máxima de clientes por página (optional).
+   * @param cursor Cursor devuelto por la página anterior (optional).
+   * @return Página de clientes obtenida con éxito (status code 200).
+   * or Error Request (status code 400).
+   */
+  @Operation(
+      operationId = "getCustomersPage",
+      summary = "Obtener una página de clientes (paginación por cursor)",
+      tags = {"customers"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Página de clientes obtenida con éxito", content = {
+              @Content(mediaType = "application/json", schema = @Schema(implementation = CustomerPage.class))
+          }),
+          @ApiResponse(responseCode = "400", description = "Error Request")
+      }
+  )
+  @RequestMapping(
+      method = RequestMethod.GET,
+      value = "/customer/page",
+      produces = {"application/json", "application/x-jackson-smile"}
+  )
+  default Single<ResponseEntity<CustomerPage>> getCustomersPage(
+      @Parameter(name = "limit", description = "Cantidad máxima de clientes por página", in = ParameterIn.QUERY) @Valid @RequestParam(value = "limit", required = false) Integer limit,
+      @Parameter(name = "cursor", description = "Cursor devuelto por la página anterior", in = ParameterIn.QUERY) @Valid @RequestParam(value = "cursor", required = false) String cursor
+  ) throws ErrorResponseException {
+    return Single.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
+
+  }
+
+
+  /**
+   * GET /customer/search : Buscar clientes por prefijo de nombre, email o teléfono (paginación por cursor).
+   *
+   * @param name   Prefijo del nombre, sin distinguir tildes ni mayúsculas, mínimo 3 caracteres (optional).
+   * @param email  Email exacto (optional).
+   * @param phone  Teléfono exacto (optional).
+   * @param limit  Cantidad máxima de clientes por página (optional).
+   * @param cursor Cursor devuelto por la página anterior (optional).
+   * @return Página de clientes encontrados (status code 200).
+   * or Sin criterios de búsqueda o cursor inválido (status code 400).
+   */
+  @Operation(
+      operationId = "searchCustomers",
+      summary = "Buscar clientes por prefijo de nombre, email o teléfono (paginación por cursor)",
+      tags = {"customers"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Página de clientes encontrados", content = {
+              @Content(mediaType = "application/json", schema = @Schema(implementation = CustomerPage.class))
+          }),
+          @ApiResponse(responseCode = "400", description = "Sin criterios de búsqueda o cursor inválido")
+      }
+  )
+  @RequestMapping(
+      method = RequestMethod.GET,
+      value = "/customer/search",
+      produces = {"application/json", "application/x-jackson-smile"}
+  )
+  default Single<ResponseEntity<CustomerPage>> searchCustomers(
+      @Parameter(name = "name", description = "Prefijo del nombre, mínimo 3 caracteres", in = ParameterIn.QUERY) @Valid @RequestParam(value = "name", required = false) String name,
+      @Parameter(name = "email", description = "Email exacto", in = ParameterIn.QUERY) @Valid @RequestParam(value = "email", required = false) String email,
+      @Parameter(name = "phone", description = "Teléfono exacto", in = ParameterIn.QUERY) @Valid @RequestParam(value = "phone", required = false) String phone,
+      @Parameter(name = "limit", description = "Cantidad máxima de clientes por página", in = ParameterIn.QUERY) @Valid @RequestParam(value = "limit", required = false) Integer limit,
+      @Parameter(name = "cursor", description = "Cursor devuelto por la página anterior", in = ParameterIn.QUERY) @Valid @RequestParam(value = "cursor", required = false) String cursor
+  ) throws ErrorResponseException {
+    return Single.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
+
+  }
+
+
+  /**
+   * GET /customer/page?view=summary : Obtener una página de resúmenes de clientes.
+   *
+   * @param limit  Cantidad máxima de clientes por página (optional).
+   * @param cursor Cursor devuelto por la página anterior (optional).
+   * @return Página de resúmenes obtenida con éxito (status code 200).
+   * or Error Request (status code 400).
+   */
+  @Operation(
+      operationId = "getCustomersSummaryPage",
+      summary = "Obtener una página de resúmenes de clientes",
+      tags = {"customers"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Página de resúmenes obtenida con éxito", content = {
+              @Content(mediaType = "application/json", schema = @Schema(implementation = CustomerSummaryPage.class))
+          }),
+          @ApiResponse(responseCode = "400", description = "Error Request")
+      }
+  )
+  @RequestMapping(
+      method = RequestMethod.GET,
+      value = "/customer/page",
+      params = "view=summary",
+      produces = {"application/json", "application/x-jackson-smile"}
+  )
+  default Single<ResponseEntity<CustomerSummaryPage>> getCustomersSummaryPage(
+      @Parameter(name = "limit", description = "Cantidad máxima de clientes por página", in = ParameterIn.QUERY) @Valid @RequestParam(value = "limit", required = false) Integer limit,
+      @Parameter(name = "cursor", description = "Cursor devuelto por la página anterior", in = ParameterIn.QUERY) @Valid @RequestParam(value = "cursor", required = false) String cursor
+  ) throws ErrorResponseException {
+    return Single.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
+
+  }
+
+
+  /**
+   * POST /customer/lookup : Obtener varios clientes por _id o identifier en una sola llamada.
+   *
+   * @param customerLookupRequest (required).
+   * @return Clientes encontrados y claves sin resultado (status code 200).
+   * or Error en Request (status code 400).
+   */
+  @Operation(
+      operationId = "lookupCustomers",
+      summary = "Obtener varios clientes por _id o identifier en una sola llamada",
+      tags = {"customers"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Clientes encontrados y claves sin resultado", content = {
+              @Content(mediaType = "application/json", schema = @Schema(implementation = CustomerLookupResponse.class))
+          }),
+          @ApiResponse(responseCode = "400", description = "Error en Request")
+      }
+  )
+  @RequestMapping(
+      method = RequestMethod.POST,
+      value = "/customer/lookup",
+      produces = {"application/json", "application/x-jackson-smile"},
+      consumes = {"application/json", "application/x-jackson-smile"}
+  )
+  default Single<ResponseEntity<CustomerLookupResponse>> lookupCustomers(
+      @Parameter(name = "CustomerLookupRequest", description = "", required = true) @Valid @RequestBody CustomerLookupRequest customerLookupRequest
+  ) throws ErrorResponseException {
+    return Single.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
+
+  }
+
+
+  /**
+   * PATCH /customer/{customer_id} : Actualizar parcialmente un cliente.
+   * Solo se envían los campos modificados y la versión leída del cliente.
+   *
+   * @param customerId    ID del cliente (required).
+   * @param customerPatch (required).
+   * @return Cliente actualizado con éxito (status code 200).
+   * or Error Request (status code 400).
+   * or Recurso no encontrado (status code 404).
+   * or El cliente fue modificado por otra operación (status code 409).
+   */
+  @Operation(
+      operationId = "patchCustomer",
+      summary = "Actualizar parcialmente un cliente",
+      description = "Solo se envían los campos modificados y la versión leída del cliente.",
+      tags = {"customers"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Cliente actualizado con éxito"),
+          @ApiResponse(responseCode = "400", description = "Error Request"),
+          @ApiResponse(responseCode = "404", description = "Recurso no encontrado"),
+          @ApiResponse(responseCode = "409", description = "El cliente fue modificado por otra operación")
+      }
+  )
+  @RequestMapping(
+      method = RequestMethod.PATCH,
+      value = "/customer/{customer_id}",
+      consumes = {"application/json", "application/x-jackson-smile"}
+  )
+  default Maybe<ResponseEntity<Object>> patchCustomer(
+      @Parameter(name = "customer_id", description = "ID del cliente", required = true, in = ParameterIn.PATH) @PathVariable("customer_id") String customerId,
+      @Parameter(name = "CustomerPatch", description = "", required = true) @Valid @RequestBody CustomerPatch customerPatch
+  ) throws ErrorResponseException {
+    return Maybe.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
+
+  }
+
+
+  /**
+   * GET /customer/stream : Obtener todos los clientes como flujo NDJSON.
+   *
+   * @return Flujo de clientes, un JSON por línea (status code 200).
+   */
+  @Operation(
+      operationId = "streamCustomers",
+      summary = "Obtener todos los clientes como flujo NDJSON",
+      tags = {"customers"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Flujo de clientes, un JSON por línea", content = {
+              @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = Customer.class))
+          })
+      }
+  )
+  @RequestMapping(
+      method = RequestMethod.GET,
+      value = "/customer/stream",
+      produces = {"application/x-ndjson"}
+  )
+  default Flowable<Customer> streamCustomers(
+
+  ) {
+    return Flowable.empty();
+
+  }
+
+
+  /**
+   * GET /customer/stream?view=summary : Obtener los resúmenes de todos los clientes como flujo NDJSON.
+   *
+   * @return Flujo de resúmenes, un JSON por línea (status code 200).
+   */
+  @Operation(
+      operationId = "streamCustomerSummaries",
+      summary = "Obtener los resúmenes de todos los clientes como flujo NDJSON",
+      tags = {"customers"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Flujo de resúmenes, un JSON por línea", content = {
+              @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = CustomerSummary.class))
+          })
+      }
+  )
+  @RequestMapping(
+      method = RequestMethod.GET,
+      value = "/customer/stream",
+      params = "view=summary",
+      produces = {"application/x-ndjson"}
+  )
+  default Flowable<CustomerSummary> streamCustomerSummaries(
+
+  ) {
+    return Flowable.empty();
+
+  }
+
+
   /**
    * PUT /customer : Actualizar un cliente.
    *
@@ -274,7 +632,7 @@ public interface CustomerControllerApi {
   @RequestMapping(
       method = RequestMethod.PUT,
       value = "/customer",
-      consumes = {"application/json"}
+      consumes = {"application/json", "application/x-jackson-smile"}
   )
   default Maybe<ResponseEntity<Object>> updateCustomer(
       @Parameter(name = "Customer", description = "", required = true) @Valid @RequestBody Customer customer
@@ -0,0 +1,71 @@
+package org.nttdatabc.mscustomer.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * ETags fuertes de las lecturas de customer: el de un customer sale de su _id y su versión, el
+ * del listado del último evento del change stream (sin change stream el listado no lleva ETag).
+ * Así el If-None-Match se compara sin leer ni serializar el cuerpo.
+ */
+final class CustomerEtags {
+  private static final String WEAK_PREFIX = "W/";
+
+  private CustomerEtags() {
+  }
+
+  /**
+   * ETag de un customer y de sus signatarios.
+   *
+   * @param customerId _id del customer.
+   * @param version    versión del customer.
+   * @return el ETag entre comillas.
+   */
+  static String customer(String customerId, long version) {
+    return "\"" + customerId + "-" + version + "\"";
+  }
+
+  /**
+   * ETag del listado completo.
+   *
+   * @param version versión de la colección según el change stream.
+   * @return el ETag entre comillas.
+   */
+  static String collection(String version) {
+    return "\"customers-" + version + "\"";
+  }
+
+  /**
+   * Compara el If-None-Match con el ETag actual (comparación débil, como pide el RFC 9110).
+   *
+   * @param ifNoneMatch valor del header, puede ser null o una lista separada por comas.
+   * @param etag        ETag actual.
+   * @return true si el cliente ya tiene esa versión.
+   */
+  static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.startsWith(WEAK_PREFIX)) {
+        tag = tag.substring(WEAK_PREFIX.length());
+      }
+      if ("*".equals(tag) || etag.equals(tag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Respuesta 304 sin cuerpo.
+   *
+   * @param etag ETag vigente.
+   * @param <T>  tipo del cuerpo de la respuesta completa.
+   * @return la respuesta.
+   */
+  static <T> ResponseEntity<T> notModified(String etag) {
+    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+  }
+}
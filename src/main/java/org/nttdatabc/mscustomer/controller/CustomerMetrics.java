@@ -0,0 +1,135 @@
+package org.nttdatabc.mscustomer.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.FlowableTransformer;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.MaybeTransformer;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.ObservableTransformer;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.core.SingleTransformer;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.nttdatabc.mscustomer.utils.exceptions.errors.ErrorResponseException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Timer customer.operation por operación del controller, con tag outcome (2xx, 400, 404, 409...).
+ * El tiempo se mide desde la suscripción hasta que termina o falla el flujo.
+ */
+@Component
+public class CustomerMetrics {
+  public static final String OPERATION_TIMER = "customer.operation";
+  static final String OUTCOME_SUCCESS = "2xx";
+  static final String OUTCOME_SERVER_ERROR = "5xx";
+  static final String OUTCOME_CANCELLED = "cancelled";
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  /**
+   * Mide un Single de la operación: el tiempo hasta el valor o el error.
+   *
+   * @param operation valor del tag operation.
+   * @param <T>       tipo de los elementos.
+   * @return el transformer a aplicar con compose.
+   */
+  public <T> SingleTransformer<T, T> single(String operation) {
+    return upstream -> Single.defer(() -> {
+      Measurement measurement = new Measurement(operation);
+      return upstream
+          .doOnSuccess(value -> measurement.stop(OUTCOME_SUCCESS))
+          .doOnError(e -> measurement.stop(outcome(e)))
+          .doOnDispose(() -> measurement.stop(OUTCOME_CANCELLED));
+    });
+  }
+
+  /**
+   * Mide un Maybe de la operación: el tiempo hasta el valor, el vacío o el error.
+   *
+   * @param operation valor del tag operation.
+   * @param <T>       tipo de los elementos.
+   * @return el transformer a aplicar con compose.
+   */
+  public <T> MaybeTransformer<T, T> maybe(String operation) {
+    return upstream -> Maybe.defer(() -> {
+      Measurement measurement = new Measurement(operation);
+      return upstream
+          .doOnSuccess(value -> measurement.stop(OUTCOME_SUCCESS))
+          .doOnComplete(() -> measurement.stop(OUTCOME_SUCCESS))
+          .doOnError(e -> measurement.stop(outcome(e)))
+          .doOnDispose(() -> measurement.stop(OUTCOME_CANCELLED));
+    });
+  }
+
+  /**
+   * Mide un Observable de la operación: el tiempo hasta que completa o falla.
+   *
+   * @param operation valor del tag operation.
+   * @param <T>       tipo de los elementos.
+   * @return el transformer a aplicar con compose.
+   */
+  public <T> ObservableTransformer<T, T> observable(String operation) {
+    return upstream -> Observable.defer(() -> {
+      Measurement measurement = new Measurement(operation);
+      return upstream
+          .doOnComplete(() -> measurement.stop(OUTCOME_SUCCESS))
+          .doOnError(e -> measurement.stop(outcome(e)))
+          .doOnDispose(() -> measurement.stop(OUTCOME_CANCELLED));
+    });
+  }
+
+  /**
+   * Mide un Flowable de la operación: el tiempo hasta que completa o falla; la cancelación queda como cancelled.
+   *
+   * @param operation valor del tag operation.
+   * @param <T>       tipo de los elementos.
+   * @return el transformer a aplicar con compose.
+   */
+  public <T> FlowableTransformer<T, T> flowable(String operation) {
+    return upstream -> Flowable.defer(() -> {
+      Measurement measurement = new Measurement(operation);
+      return upstream
+          .doOnComplete(() -> measurement.stop(OUTCOME_SUCCESS))
+          .doOnError(e -> measurement.stop(outcome(e)))
+          .doOnCancel(() -> measurement.stop(OUTCOME_CANCELLED));
+    });
+  }
+
+  /**
+   * Outcome de un error: el status de ErrorResponseException o 5xx para el resto.
+   *
+   * @param error error del flujo.
+   * @return valor del tag outcome.
+   */
+  public static String outcome(Throwable error) {
+    return error instanceof ErrorResponseException
+        ? String.valueOf(((ErrorResponseException) error).getStatus())
+        : OUTCOME_SERVER_ERROR;
+  }
+
+  /**
+   * Medición de una suscripción, se registra una sola vez aunque llegue dispose luego del final.
+   */
+  private final class Measurement {
+    private final Timer.Sample sample = Timer.start(meterRegistry);
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private final String operation;
+
+    private Measurement(String operation) {
+      this.operation = operation;
+    }
+
+    private void stop(String outcome) {
+      if (stopped.compareAndSet(false, true)) {
+        sample.stop(Timer.builder(OPERATION_TIMER)
+            .description("Latencia de las operaciones del customer controller")
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .register(meterRegistry));
+      }
+    }
+  }
+}
@@ -0,0 +1,150 @@
+package org.nttdatabc.mscustomer.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import javax.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.nttdatabc.mscustomer.model.Customer;
+import org.nttdatabc.mscustomer.utils.Utilitarios;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Crea los índices de la colección customer al iniciar la aplicación.
+ * El modelo se genera desde el swagger, por eso los índices no se declaran con anotaciones.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "mscustomer.mongo.create-indexes", havingValue = "true", matchIfMissing = true)
+public class CustomerIndexManager {
+  public static final String UX_IDENTIFIER = "ux_customer_identifier";
+  public static final String IX_FULLNAME_SEARCH = "ix_customer_fullname_search";
+  public static final String IX_EMAIL = "ix_customer_email";
+  public static final String IX_PHONE = "ix_customer_phone";
+  public static final String IX_SIGNER_DNI = "ix_customer_signer_dni";
+
+  private static final int MAX_LOGGED_DUPLICATES = 20;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Value("${mscustomer.stream.batch-size:500}")
+  private int batchSize;
+
+  @Value("${mscustomer.mongo.backfill-search-fields:false}")
+  private boolean backfillSearchFields;
+
+  /**
+   * Asegura los índices, si ya existen con la misma definición no hace nada.
+   */
+  @PostConstruct
+  public void ensureIndexes() {
+    IndexOperations indexOps = mongoTemplate.indexOps(Customer.class);
+    ensureUniqueIdentifier(indexOps);
+    indexOps.ensureIndex(new Index()
+        .on(CustomerQueries.FULLNAME_SEARCH, Sort.Direction.ASC)
+        .on("_id", Sort.Direction.ASC)
+        .named(IX_FULLNAME_SEARCH));
+    indexOps.ensureIndex(new Index()
+        .on(CustomerQueries.EMAIL, Sort.Direction.ASC)
+        .on("_id", Sort.Direction.ASC)
+        .named(IX_EMAIL));
+    indexOps.ensureIndex(new Index()
+        .on(CustomerQueries.PHONE, Sort.Direction.ASC)
+        .on("_id", Sort.Direction.ASC)
+        .named(IX_PHONE));
+    indexOps.ensureIndex(new Index()
+        .on(CustomerQueries.SIGNER_DNI, Sort.Direction.ASC)
+        .on("_id", Sort.Direction.ASC)
+        .named(IX_SIGNER_DNI));
+    log.info("ensureIndexes:: completed");
+    if (backfillSearchFields) {
+      Thread backfill = new Thread(this::backfillSearchFields, "customer-search-backfill");
+      backfill.setDaemon(true);
+      backfill.start();
+    }
+  }
+
+  /**
+   * Crea el índice único de identifier. Si la colección ya tiene identifiers repetidos (altas
+   * concurrentes de antes de existir el índice) no se puede crear: se registran los repetidos y la
+   * aplicación arranca igual, pero sin el índice un alta con un identifier existente no se rechaza
+   * hasta depurarlos y reiniciar.
+   */
+  private void ensureUniqueIdentifier(IndexOperations indexOps) {
+    try {
+      indexOps.ensureIndex(new Index()
+          .on(CustomerQueries.IDENTIFIER, Sort.Direction.ASC)
+          .unique()
+          .named(UX_IDENTIFIER));
+    } catch (DuplicateKeyException e) {
+      Aggregation duplicates = Aggregation.newAggregation(
+          Aggregation.group(CustomerQueries.IDENTIFIER).count().as("count").push("_id").as("ids"),
+          Aggregation.match(where("count").gt(1)),
+          Aggregation.limit(MAX_LOGGED_DUPLICATES))
+          .withOptions(Aggregation.newAggregationOptions().allowDiskUse(true).build());
+      for (Document duplicate : mongoTemplate.aggregate(duplicates, Customer.class, Document.class)) {
+        log.error("ensureUniqueIdentifier:: identifier {} repeated in {}", duplicate.get("_id"), duplicate.get("ids"));
+      }
+      log.error("ensureUniqueIdentifier:: {} not created, duplicated identifiers (first {} above) must be removed "
+          + "before restarting", UX_IDENTIFIER, MAX_LOGGED_DUPLICATES);
+    }
+  }
+
+  /**
+   * Completa fullnameSearch en los documentos guardados antes de existir el campo, por lotes. Es
+   * una migración que se corre una vez, en una sola instancia (mscustomer.mongo.backfill-search-fields),
+   * en un hilo aparte para no demorar el arranque. Busca los pendientes por el índice de
+   * fullnameSearch, así una vez completa no recorre nada.
+   */
+  private void backfillSearchFields() {
+    Query missing = new Query(where(CustomerQueries.FULLNAME_SEARCH).exists(false)
+        .and(CustomerQueries.FULLNAME).type(2))
+        .cursorBatchSize(batchSize);
+    missing.fields().include(CustomerQueries.FULLNAME);
+    String collection = mongoTemplate.getCollectionName(Customer.class);
+    long updated = 0;
+    log.info("backfillSearchFields:: started");
+    try (CloseableIterator<Document> documents = mongoTemplate.stream(missing, Document.class, collection)) {
+      BulkOperations bulk = null;
+      int pending = 0;
+      while (documents.hasNext()) {
+        Document document = documents.next();
+        if (bulk == null) {
+          bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+        }
+        // sin fullnameSearch en el filtro: si otra escritura ya lo completó no se pisa
+        bulk.updateOne(new Query(where("_id").is(document.get("_id")).and(CustomerQueries.FULLNAME_SEARCH).exists(false)),
+            new Update().set(CustomerQueries.FULLNAME_SEARCH, Utilitarios.normalizeSearch(document.getString(CustomerQueries.FULLNAME))));
+        if (++pending == batchSize) {
+          bulk.execute();
+          updated += pending;
+          bulk = null;
+          pending = 0;
+          log.info("backfillSearchFields:: updated {} so far", updated);
+        }
+      }
+      if (bulk != null) {
+        bulk.execute();
+        updated += pending;
+      }
+    } catch (RuntimeException e) {
+      log.error("backfillSearchFields:: stopped after {} updates, run it again to resume", updated, e);
+      return;
+    }
+    log.info("backfillSearchFields:: completed, updated {}", updated);
+  }
+}
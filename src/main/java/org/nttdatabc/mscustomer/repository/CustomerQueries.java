@@ -0,0 +1,245 @@
+package org.nttdatabc.mscustomer.repository;
+
+import static org.nttdatabc.mscustomer.utils.Constantes.SEARCH_MAX_TIME_MS;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.bson.Document;
+import org.nttdatabc.mscustomer.model.Customer;
+import org.nttdatabc.mscustomer.model.CustomerPatch;
+import org.nttdatabc.mscustomer.model.TypeCustomer;
+import org.nttdatabc.mscustomer.utils.Utilitarios;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Queries compartidas por los repositorios bloqueante y reactivo.
+ */
+final class CustomerQueries {
+  static final String VERSION = "version";
+  static final String IDENTIFIER = "identifier";
+  static final String FULLNAME = "fullname";
+  static final String FULLNAME_SEARCH = "fullnameSearch";
+  static final String EMAIL = "email";
+  static final String PHONE = "phone";
+  static final String SIGNER_DNI = "authorizedSigners.dni";
+  private static final Pattern PERSONA_TYPE = Pattern.compile("^" + TypeCustomer.PERSONA + "$", Pattern.CASE_INSENSITIVE);
+
+  private CustomerQueries() {
+  }
+
+  /**
+   * Página ordenada por _id a partir del último _id leído (keyset).
+   *
+   * @param lastId último _id de la página anterior, null para la primera.
+   * @param limit  cantidad máxima de documentos.
+   * @return query de la página.
+   */
+  static Query pageAfter(String lastId, int limit) {
+    Query query = new Query()
+        .with(Sort.by(Sort.Direction.ASC, "_id"))
+        .limit(limit);
+    if (lastId != null) {
+      query.addCriteria(where("_id").gt(lastId));
+    }
+    return query;
+  }
+
+  /**
+   * Lectura de solo la versión de un customer, resuelta con el índice de _id.
+   *
+   * @param customerId _id del customer.
+   * @return query con la proyección de version.
+   */
+  static Query versionById(String customerId) {
+    Query query = new Query(where("_id").is(customerId));
+    query.fields().include(VERSION);
+    return query;
+  }
+
+  /**
+   * Versión guardada en un documento, los guardados antes de versionar valen 0.
+   *
+   * @param document documento leído con VERSION.
+   * @return la versión.
+   */
+  static long versionOf(Document document) {
+    Object version = document.get(VERSION);
+    return version instanceof Number ? ((Number) version).longValue() : 0L;
+  }
+
+  /**
+   * Página ordenada por _id de los customers que tienen al signatario, sobre el índice multikey
+   * (authorizedSigners.dni, _id).
+   *
+   * @param dni    dni del signatario.
+   * @param lastId último _id de la página anterior, null para la primera.
+   * @param limit  cantidad máxima de documentos.
+   * @return query de la página.
+   */
+  static Query bySignerDni(String dni, String lastId, int limit) {
+    return pageAfter(lastId, limit)
+        .addCriteria(where(SIGNER_DNI).is(dni))
+        .maxTime(Duration.ofMillis(SEARCH_MAX_TIME_MS));
+  }
+
+  /**
+   * Filtro del customer que puede recibir signatarios: existe y no es PERSONA.
+   *
+   * @param customerId id del customer.
+   * @return query con ambas condiciones.
+   */
+  static Query signerTarget(String customerId) {
+    return new Query(where("_id").is(customerId)
+        .and("type").not().regex(PERSONA_TYPE));
+  }
+
+  /**
+   * Filtro del customer en la versión esperada; los documentos sin versión cuentan como 0.
+   *
+   * @param customerId      id del customer.
+   * @param expectedVersion versión leída por el cliente.
+   * @return query con el _id y la versión.
+   */
+  static Query atVersion(String customerId, long expectedVersion) {
+    Criteria version = expectedVersion == 0
+        ? new Criteria().orOperator(where(VERSION).is(0L), where(VERSION).exists(false))
+        : where(VERSION).is(expectedVersion);
+    return new Query(where("_id").is(customerId)).addCriteria(version);
+  }
+
+  /**
+   * $set solo de los campos enviados, más el incremento de la versión.
+   *
+   * @param patch campos a modificar.
+   * @return el update.
+   */
+  static Update patch(CustomerPatch patch) {
+    Update update = new Update().inc(VERSION, 1);
+    setIfPresent(update, FULLNAME, patch.getFullname());
+    setIfPresent(update, FULLNAME_SEARCH, Utilitarios.normalizeSearch(patch.getFullname()));
+    setIfPresent(update, "address", patch.getAddress());
+    setIfPresent(update, PHONE, patch.getPhone());
+    setIfPresent(update, EMAIL, patch.getEmail());
+    setIfPresent(update, "birthday", patch.getBirthday());
+    return update;
+  }
+
+  /**
+   * $set de los campos que reemplaza el PUT, más el incremento de la versión; identifier y type
+   * no cambian. fullnameSearch se calcula acá porque un update no pasa por el listener del save.
+   *
+   * @param customer customer recibido.
+   * @return el update.
+   */
+  static Update replace(Customer customer) {
+    return new Update().inc(VERSION, 1)
+        .set(FULLNAME, customer.getFullname())
+        .set(FULLNAME_SEARCH, Utilitarios.normalizeSearch(customer.getFullname()))
+        .set("address", customer.getAddress())
+        .set(PHONE, customer.getPhone())
+        .set(EMAIL, customer.getEmail())
+        .set("birthday", customer.getBirthday())
+        .set("authorizedSigners", customer.getAuthorizedSigners());
+  }
+
+  private static void setIfPresent(Update update, String field, Object value) {
+    if (value != null) {
+      update.set(field, value);
+    }
+  }
+
+  /**
+   * Identificadores registrados dentro de la lista, leídos solo del índice de identifier.
+   *
+   * @param identifiers identificadores a buscar.
+   * @return query con $in y proyección de identifier.
+   */
+  static Query identifiersIn(Collection<String> identifiers) {
+    Query query = new Query(where(IDENTIFIER).in(identifiers));
+    query.fields().include(IDENTIFIER).exclude("_id");
+    return query;
+  }
+
+  /**
+   * Todos los identificadores de la colección, con la misma proyección que identifiersIn.
+   *
+   * @param batchSize tamaño de lote del cursor.
+   * @return query sin filtro con proyección de identifier.
+   */
+  static Query identifiers(int batchSize) {
+    Query query = new Query().cursorBatchSize(batchSize);
+    query.fields().include(IDENTIFIER).exclude("_id");
+    return query;
+  }
+
+  /**
+   * Limita la query a los campos del CustomerSummary.
+   *
+   * @param query query base.
+   * @return la misma query con la proyección.
+   */
+  static Query summary(Query query) {
+    query.fields().include("_id", IDENTIFIER, "type", FULLNAME);
+    return query;
+  }
+
+  /**
+   * Búsqueda de GET /customer/search. Email y phone usan sus índices (campo, _id) y ordenan por _id;
+   * sin ellos el prefijo del nombre es un rango sobre (fullnameSearch, _id) y se ordena por ambos.
+   * Nunca queda sin filtro indexado y tiene maxTime, así no puede recorrer la colección.
+   *
+   * @param search criterios y posición de la página anterior.
+   * @return query de la página.
+   */
+  static Query search(CustomerSearch search) {
+    List<Criteria> criteria = new ArrayList<>();
+    if (search.getEmail() != null) {
+      criteria.add(where(EMAIL).is(search.getEmail()));
+    }
+    if (search.getPhone() != null) {
+      criteria.add(where(PHONE).is(search.getPhone()));
+    }
+    if (search.getNamePrefix() != null) {
+      criteria.add(where(FULLNAME_SEARCH).gte(search.getNamePrefix()).lt(prefixEnd(search.getNamePrefix())));
+    }
+    Sort sort = Sort.by(Sort.Direction.ASC, "_id");
+    if (search.byName()) {
+      sort = Sort.by(Sort.Direction.ASC, FULLNAME_SEARCH).and(sort);
+      if (search.getLastId() != null) {
+        criteria.add(new Criteria().orOperator(
+            where(FULLNAME_SEARCH).gt(search.getLastName()),
+            where(FULLNAME_SEARCH).is(search.getLastName()).and("_id").gt(search.getLastId())));
+      }
+    } else if (search.getLastId() != null) {
+      criteria.add(where("_id").gt(search.getLastId()));
+    }
+    return new Query(new Criteria().andOperator(criteria))
+        .with(sort)
+        .limit(search.getLimit())
+        .maxTime(Duration.ofMillis(SEARCH_MAX_TIME_MS));
+  }
+
+  /**
+   * Agrega al documento que se va a guardar los campos derivados para la búsqueda.
+   *
+   * @param document documento del customer ya convertido.
+   */
+  static void addSearchFields(Document document) {
+    String fullname = document.getString(FULLNAME);
+    if (fullname != null) {
+      document.put(FULLNAME_SEARCH, Utilitarios.normalizeSearch(fullname));
+    }
+  }
+
+  private static String prefixEnd(String prefix) {
+    char last = prefix.charAt(prefix.length() - 1);
+    return prefix.substring(0, prefix.length() - 1) + (char) (last + 1);
+  }
+}
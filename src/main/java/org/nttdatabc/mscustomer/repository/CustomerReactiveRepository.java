@@ -0,0 +1,20 @@
+package org.nttdatabc.mscustomer.repository;
+
+import java.util.Collection;
+import org.nttdatabc.mscustomer.model.Customer;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Interface del Customer Repository sobre el driver reactivo de Mongo.
+ */
+@Repository
+public interface CustomerReactiveRepository extends ReactiveMongoRepository<Customer, String>, CustomerReactiveRepositoryCustom {
+  Mono<Customer> findByIdentifier(String identifier);
+
+  Flux<Customer> findAllByIdentifierIn(Collection<String> identifiers);
+
+
+}
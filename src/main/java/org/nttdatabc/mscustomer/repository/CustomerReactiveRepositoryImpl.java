@@ -0,0 +1,134 @@
+package org.nttdatabc.mscustomer.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.model.InsertManyOptions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.bson.Document;
+import org.nttdatabc.mscustomer.model.AuthorizedSigner;
+import org.nttdatabc.mscustomer.model.Customer;
+import org.nttdatabc.mscustomer.model.CustomerPatch;
+import org.nttdatabc.mscustomer.model.CustomerSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementación del CustomerReactiveRepositoryCustom.
+ */
+public class CustomerReactiveRepositoryImpl implements CustomerReactiveRepositoryCustom {
+  @Autowired
+  private ReactiveMongoTemplate reactiveMongoTemplate;
+
+  @Value("${mscustomer.stream.batch-size:500}")
+  private int streamBatchSize;
+
+  @Override
+  public Flux<Customer> findPageAfter(String lastId, int limit) {
+    return reactiveMongoTemplate.find(CustomerQueries.pageAfter(lastId, limit), Customer.class);
+  }
+
+  @Override
+  public Flux<Customer> streamAll() {
+    return reactiveMongoTemplate.find(new Query().cursorBatchSize(streamBatchSize), Customer.class);
+  }
+
+  @Override
+  public Mono<Boolean> pushAuthorizedSigner(String customerId, AuthorizedSigner authorizedSigner) {
+    return reactiveMongoTemplate.updateFirst(CustomerQueries.signerTarget(customerId),
+        new Update().push("authorizedSigners", authorizedSigner).inc(CustomerQueries.VERSION, 1), Customer.class)
+        .map(result -> result.getMatchedCount() > 0);
+  }
+
+  @Override
+  public Mono<Boolean> patchCustomer(String customerId, CustomerPatch patch) {
+    return reactiveMongoTemplate.updateFirst(CustomerQueries.atVersion(customerId, patch.getVersion()),
+        CustomerQueries.patch(patch), Customer.class)
+        .map(result -> result.getMatchedCount() > 0);
+  }
+
+  @Override
+  public Mono<Boolean> replaceCustomer(String customerId, Customer customer, long expectedVersion) {
+    return reactiveMongoTemplate.updateFirst(CustomerQueries.atVersion(customerId, expectedVersion),
+        CustomerQueries.replace(customer), Customer.class)
+        .map(result -> result.getMatchedCount() > 0);
+  }
+
+  @Override
+  public Mono<Set<String>> findRegisteredIdentifiers(Collection<String> identifiers) {
+    return reactiveMongoTemplate.find(CustomerQueries.identifiersIn(identifiers), Document.class,
+            collectionName())
+        .map(document -> document.getString(CustomerQueries.IDENTIFIER))
+        .collect(Collectors.toSet());
+  }
+
+  @Override
+  public Mono<Map<Integer, Integer>> insertUnordered(List<Customer> customers) {
+    List<Document> documents = new ArrayList<>(customers.size());
+    customers.forEach(customer -> {
+      Document document = new Document();
+      reactiveMongoTemplate.getConverter().write(customer, document);
+      CustomerQueries.addSearchFields(document);
+      documents.add(document);
+    });
+    return reactiveMongoTemplate.getCollection(collectionName())
+        .flatMap(collection -> Mono.from(collection.insertMany(documents, new InsertManyOptions().ordered(false))))
+        .map(result -> Collections.<Integer, Integer>emptyMap())
+        .onErrorResume(MongoBulkWriteException.class, e -> {
+          Map<Integer, Integer> failures = new HashMap<>();
+          e.getWriteErrors().forEach(error -> failures.put(error.getIndex(), error.getCode()));
+          return Mono.just(failures);
+        });
+  }
+
+  @Override
+  public Mono<CustomerSummary> findSummaryById(String customerId) {
+    return reactiveMongoTemplate.findOne(
+        CustomerQueries.summary(new Query(where("_id").is(customerId))), CustomerSummary.class, collectionName());
+  }
+
+  @Override
+  public Flux<CustomerSummary> findSummaryPageAfter(String lastId, int limit) {
+    return reactiveMongoTemplate.find(CustomerQueries.summary(CustomerQueries.pageAfter(lastId, limit)),
+        CustomerSummary.class, collectionName());
+  }
+
+  @Override
+  public Flux<CustomerSummary> streamAllSummaries() {
+    return reactiveMongoTemplate.find(CustomerQueries.summary(new Query().cursorBatchSize(streamBatchSize)),
+        CustomerSummary.class, collectionName());
+  }
+
+  @Override
+  public Flux<Customer> search(CustomerSearch search) {
+    return reactiveMongoTemplate.find(CustomerQueries.search(search), Customer.class);
+  }
+
+  @Override
+  public Flux<CustomerSummary> findSummariesBySignerDni(String dni, String lastId, int limit) {
+    return reactiveMongoTemplate.find(CustomerQueries.summary(CustomerQueries.bySignerDni(dni, lastId, limit)),
+        CustomerSummary.class, collectionName());
+  }
+
+  @Override
+  public Mono<Long> findVersionById(String customerId) {
+    return reactiveMongoTemplate.findOne(CustomerQueries.versionById(customerId), Document.class, collectionName())
+        .map(CustomerQueries::versionOf);
+  }
+
+  private String collectionName() {
+    return reactiveMongoTemplate.getCollectionName(Customer.class);
+  }
+}
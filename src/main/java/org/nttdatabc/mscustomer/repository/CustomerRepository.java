@@ -1,5 +1,7 @@
 package org.nttdatabc.mscustomer.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.nttdatabc.mscustomer.model.Customer;
 import org.springframework.data.mongodb.repository.MongoRepository;
@@ -9,8 +11,10 @@ import org.springframework.stereotype.Repository;
  * Interface del Customer Repository.
  */
 @Repository
-public interface CustomerRepository extends MongoRepository<Customer, String> {
+public interface CustomerRepository extends MongoRepository<Customer, String>, CustomerRepositoryCustom {
   Optional<Customer> findByIdentifier(String identifier);
 
+  List<Customer> findAllByIdentifierIn(Collection<String> identifiers);
+
 
 }
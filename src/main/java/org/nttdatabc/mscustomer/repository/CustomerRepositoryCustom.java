@@ -0,0 +1,136 @@
+package org.nttdatabc.mscustomer.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.nttdatabc.mscustomer.model.AuthorizedSigner;
+import org.nttdatabc.mscustomer.model.Customer;
+import org.nttdatabc.mscustomer.model.CustomerPatch;
+import org.nttdatabc.mscustomer.model.CustomerSummary;
+import org.springframework.data.util.CloseableIterator;
+
+/**
+ * Operaciones del Customer Repository que se resuelven con MongoTemplate.
+ */
+public interface CustomerRepositoryCustom {
+  /**
+   * Obtiene la página siguiente ordenada por _id (keyset).
+   *
+   * @param lastId último _id de la página anterior, null para la primera.
+   * @param limit  cantidad máxima de documentos.
+   * @return lista de customers.
+   */
+  List<Customer> findPageAfter(String lastId, int limit);
+
+  /**
+   * Recorre la colección con un cursor de Mongo y tamaño de lote acotado.
+   *
+   * @return iterador que debe cerrarse al terminar.
+   */
+  CloseableIterator<Customer> streamAll();
+
+  /**
+   * Agrega el signatario con un $push, solo si el customer existe y no es PERSONA.
+   *
+   * @param customerId       id del customer.
+   * @param authorizedSigner signatario a agregar.
+   * @return true si algún documento cumplió el filtro.
+   */
+  boolean pushAuthorizedSigner(String customerId, AuthorizedSigner authorizedSigner);
+
+  /**
+   * Aplica el patch con un único update, solo si la versión coincide.
+   *
+   * @param customerId id del customer.
+   * @param patch      campos a modificar y versión esperada.
+   * @return true si algún documento cumplió el filtro.
+   */
+  boolean patchCustomer(String customerId, CustomerPatch patch);
+
+  /**
+   * Reemplaza los campos editables con un único update, solo si la versión no cambió desde que
+   * se leyó el customer.
+   *
+   * @param customerId      id del customer.
+   * @param customer        campos nuevos.
+   * @param expectedVersion versión leída.
+   * @return true si algún documento cumplió el filtro.
+   */
+  boolean replaceCustomer(String customerId, Customer customer, long expectedVersion);
+
+  /**
+   * Busca cuáles de los identificadores ya están registrados, con un único $in.
+   *
+   * @param identifiers identificadores a buscar.
+   * @return los identificadores registrados.
+   */
+  Set<String> findRegisteredIdentifiers(Collection<String> identifiers);
+
+  /**
+   * Recorre los identificadores de toda la colección con un cursor, sin leer los documentos.
+   *
+   * @return stream que debe cerrarse al terminar.
+   */
+  Stream<String> streamIdentifiers();
+
+  /**
+   * Inserta los customers con insertMany no ordenado, un fallo no detiene al resto.
+   *
+   * @param customers customers a insertar.
+   * @return posición dentro de la lista y código de error de Mongo de los que fallaron.
+   */
+  Map<Integer, Integer> insertUnordered(List<Customer> customers);
+
+  /**
+   * Obtiene solo los campos del resumen de un customer.
+   *
+   * @param customerId id del customer.
+   * @return el resumen, vacío si no existe.
+   */
+  Optional<CustomerSummary> findSummaryById(String customerId);
+
+  /**
+   * Igual que findPageAfter, leyendo solo los campos del resumen.
+   *
+   * @param lastId último _id de la página anterior, null para la primera.
+   * @param limit  cantidad máxima de documentos.
+   * @return resúmenes de la página.
+   */
+  List<CustomerSummary> findSummaryPageAfter(String lastId, int limit);
+
+  /**
+   * Igual que streamAll, leyendo solo los campos del resumen.
+   *
+   * @return iterador que debe cerrarse al terminar.
+   */
+  CloseableIterator<CustomerSummary> streamAllSummaries();
+
+  /**
+   * Búsqueda por prefijo de nombre, email o teléfono sobre sus índices, ordenada para keyset.
+   *
+   * @param search criterios y posición de la página anterior.
+   * @return customers encontrados, hasta search.getLimit().
+   */
+  List<Customer> search(CustomerSearch search);
+
+  /**
+   * Resúmenes de los customers que tienen al signatario, paginados por _id (keyset).
+   *
+   * @param dni    dni del signatario.
+   * @param lastId último _id de la página anterior, null para la primera.
+   * @param limit  cantidad máxima de documentos.
+   * @return resúmenes de la página.
+   */
+  List<CustomerSummary> findSummariesBySignerDni(String dni, String lastId, int limit);
+
+  /**
+   * Versión de un customer sin leer el documento completo.
+   *
+   * @param customerId _id del customer.
+   * @return la versión, vacío si no existe.
+   */
+  Optional<Long> findVersionById(String customerId);
+}
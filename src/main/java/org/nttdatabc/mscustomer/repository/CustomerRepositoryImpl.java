@@ -0,0 +1,134 @@
+package org.nttdatabc.mscustomer.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.bson.Document;
+import org.nttdatabc.mscustomer.model.AuthorizedSigner;
+import org.nttdatabc.mscustomer.model.Customer;
+import org.nttdatabc.mscustomer.model.CustomerPatch;
+import org.nttdatabc.mscustomer.model.CustomerSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+
+/**
+ * Implementación del CustomerRepositoryCustom.
+ */
+public class CustomerRepositoryImpl implements CustomerRepositoryCustom {
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Value("${mscustomer.stream.batch-size:500}")
+  private int streamBatchSize;
+
+  @Override
+  public List<Customer> findPageAfter(String lastId, int limit) {
+    return mongoTemplate.find(CustomerQueries.pageAfter(lastId, limit), Customer.class);
+  }
+
+  @Override
+  public CloseableIterator<Customer> streamAll() {
+    return mongoTemplate.stream(new Query().cursorBatchSize(streamBatchSize), Customer.class);
+  }
+
+  @Override
+  public boolean pushAuthorizedSigner(String customerId, AuthorizedSigner authorizedSigner) {
+    return mongoTemplate.updateFirst(CustomerQueries.signerTarget(customerId),
+        new Update().push("authorizedSigners", authorizedSigner).inc(CustomerQueries.VERSION, 1), Customer.class)
+        .getMatchedCount() > 0;
+  }
+
+  @Override
+  public boolean patchCustomer(String customerId, CustomerPatch patch) {
+    return mongoTemplate.updateFirst(CustomerQueries.atVersion(customerId, patch.getVersion()),
+        CustomerQueries.patch(patch), Customer.class)
+        .getMatchedCount() > 0;
+  }
+
+  @Override
+  public boolean replaceCustomer(String customerId, Customer customer, long expectedVersion) {
+    return mongoTemplate.updateFirst(CustomerQueries.atVersion(customerId, expectedVersion),
+        CustomerQueries.replace(customer), Customer.class)
+        .getMatchedCount() > 0;
+  }
+
+  @Override
+  public Set<String> findRegisteredIdentifiers(Collection<String> identifiers) {
+    Set<String> registered = new HashSet<>();
+    mongoTemplate.find(CustomerQueries.identifiersIn(identifiers), Document.class, collectionName())
+        .forEach(document -> registered.add(document.getString(CustomerQueries.IDENTIFIER)));
+    return registered;
+  }
+
+  @Override
+  public Stream<String> streamIdentifiers() {
+    return mongoTemplate.stream(CustomerQueries.identifiers(streamBatchSize), Document.class, collectionName())
+        .stream()
+        .map(document -> document.getString(CustomerQueries.IDENTIFIER));
+  }
+
+  @Override
+  public Map<Integer, Integer> insertUnordered(List<Customer> customers) {
+    try {
+      mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Customer.class).insert(customers).execute();
+      return Collections.emptyMap();
+    } catch (BulkOperationException e) {
+      Map<Integer, Integer> failures = new HashMap<>();
+      e.getErrors().forEach(error -> failures.put(error.getIndex(), error.getCode()));
+      return failures;
+    }
+  }
+
+  @Override
+  public Optional<CustomerSummary> findSummaryById(String customerId) {
+    return Optional.ofNullable(mongoTemplate.findOne(
+        CustomerQueries.summary(new Query(where("_id").is(customerId))), CustomerSummary.class, collectionName()));
+  }
+
+  @Override
+  public List<CustomerSummary> findSummaryPageAfter(String lastId, int limit) {
+    return mongoTemplate.find(CustomerQueries.summary(CustomerQueries.pageAfter(lastId, limit)),
+        CustomerSummary.class, collectionName());
+  }
+
+  @Override
+  public CloseableIterator<CustomerSummary> streamAllSummaries() {
+    return mongoTemplate.stream(CustomerQueries.summary(new Query().cursorBatchSize(streamBatchSize)),
+        CustomerSummary.class, collectionName());
+  }
+
+  @Override
+  public List<Customer> search(CustomerSearch search) {
+    return mongoTemplate.find(CustomerQueries.search(search), Customer.class);
+  }
+
+  @Override
+  public List<CustomerSummary> findSummariesBySignerDni(String dni, String lastId, int limit) {
+    return mongoTemplate.find(CustomerQueries.summary(CustomerQueries.bySignerDni(dni, lastId, limit)),
+        CustomerSummary.class, collectionName());
+  }
+
+  @Override
+  public Optional<Long> findVersionById(String customerId) {
+    return Optional.ofNullable(mongoTemplate.findOne(CustomerQueries.versionById(customerId), Document.class, collectionName()))
+        .map(CustomerQueries::versionOf);
+  }
+
+  private String collectionName() {
+    return mongoTemplate.getCollectionName(Customer.class);
+  }
+}
@@ -0,0 +1,67 @@
+package org.nttdatabc.mscustomer.repository;
+
+/**
+ * Criterios de GET /customer/search ya validados, con la posición de la página anterior.
+ * El criterio que guía el índice es email, luego phone y luego el prefijo de nombre; los demás
+ * se aplican como filtro sobre lo que devuelve ese índice.
+ */
+public final class CustomerSearch {
+  private final String namePrefix;
+  private final String email;
+  private final String phone;
+  private final String lastName;
+  private final String lastId;
+  private final int limit;
+
+  /**
+   * Constructor.
+   *
+   * @param namePrefix prefijo normalizado del fullname, null si no se busca por nombre.
+   * @param email      email exacto, null si no se busca por email.
+   * @param phone      teléfono exacto, null si no se busca por teléfono.
+   * @param lastName   fullname normalizado del último resultado, solo si se ordena por nombre.
+   * @param lastId     _id del último resultado, null para la primera página.
+   * @param limit      cantidad máxima de documentos.
+   */
+  public CustomerSearch(String namePrefix, String email, String phone, String lastName, String lastId, int limit) {
+    this.namePrefix = namePrefix;
+    this.email = email;
+    this.phone = phone;
+    this.lastName = lastName;
+    this.lastId = lastId;
+    this.limit = limit;
+  }
+
+  /**
+   * Sin email ni teléfono el índice es el del nombre y el orden es (fullnameSearch, _id).
+   *
+   * @return true si la página se ordena por nombre.
+   */
+  public boolean byName() {
+    return email == null && phone == null;
+  }
+
+  public String getNamePrefix() {
+    return namePrefix;
+  }
+
+  public String getEmail() {
+    return email;
+  }
+
+  public String getPhone() {
+    return phone;
+  }
+
+  public String getLastName() {
+    return lastName;
+  }
+
+  public String getLastId() {
+    return lastId;
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+}
@@ -0,0 +1,20 @@
+package org.nttdatabc.mscustomer.repository;
+
+import org.nttdatabc.mscustomer.model.Customer;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Completa fullnameSearch en cada insert o save del Customer, por MongoTemplate o ReactiveMongoTemplate.
+ * El campo no está en el modelo del swagger, solo existe en el documento para el índice de búsqueda.
+ */
+@Component
+public class CustomerSearchFieldsListener extends AbstractMongoEventListener<Customer> {
+  @Override
+  public void onBeforeSave(BeforeSaveEvent<Customer> event) {
+    if (event.getDocument() != null) {
+      CustomerQueries.addSearchFields(event.getDocument());
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package org.nttdatabc.mscustomer.service;
+
+import static org.nttdatabc.mscustomer.utils.Constantes.BATCH_MAX_SIZE;
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_BATCH_DUPLICATE;
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_BATCH_INSERT;
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_ERROR_REQUEST;
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_USER_REGISTRED;
+import static org.nttdatabc.mscustomer.utils.Constantes.MONGO_DUPLICATE_KEY;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.nttdatabc.mscustomer.model.Customer;
+import org.nttdatabc.mscustomer.model.CustomerBatchResult;
+import org.nttdatabc.mscustomer.model.CustomerBatchResult.StatusEnum;
+import org.nttdatabc.mscustomer.utils.exceptions.errors.ErrorResponseException;
+import org.nttdatabc.mscustomer.utils.id.IdGenerator;
+import org.nttdatabc.mscustomer.utils.validation.CustomerRules;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Estado de un lote de creación, compartido por los servicios bloqueante y reactivo.
+ * Cada cliente queda con su resultado, los válidos y no repetidos quedan pendientes de insertar.
+ */
+final class CustomerBatch {
+  private final List<Customer> customers;
+  private final CustomerBatchResult[] results;
+  private final Map<String, Integer> pending = new LinkedHashMap<>();
+
+  private CustomerBatch(List<Customer> customers) {
+    this.customers = customers;
+    this.results = new CustomerBatchResult[customers.size()];
+  }
+
+  /**
+   * Valida cada cliente del lote y descarta los identificadores repetidos dentro del lote.
+   *
+   * @param customers el lote recibido.
+   * @return el lote preparado.
+   * @throws ErrorResponseException si el lote está vacío o supera BATCH_MAX_SIZE.
+   */
+  static CustomerBatch of(List<Customer> customers) throws ErrorResponseException {
+    if (customers == null || customers.isEmpty() || customers.size() > BATCH_MAX_SIZE) {
+      throw new ErrorResponseException(EX_ERROR_REQUEST, HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST);
+    }
+    CustomerBatch batch = new CustomerBatch(customers);
+    for (int i = 0; i < customers.size(); i++) {
+      Customer customer = customers.get(i);
+      if (customer == null) {
+        batch.reject(i, StatusEnum.INVALID, EX_ERROR_REQUEST);
+        continue;
+      }
+      long violations = CustomerRules.check(customer, true);
+      if (violations != 0L) {
+        batch.invalid(i, CustomerRules.toException(CustomerRules.customerViolations(violations)));
+        continue;
+      }
+      if (batch.pending.putIfAbsent(customer.getIdentifier(), i) != null) {
+        batch.reject(i, StatusEnum.DUPLICATE, EX_BATCH_DUPLICATE);
+      }
+    }
+    return batch;
+  }
+
+  Set<String> pendingIdentifiers() {
+    return new HashSet<>(pending.keySet());
+  }
+
+  /**
+   * Descarta los pendientes cuyo identificador ya está registrado.
+   *
+   * @param registered identificadores encontrados en la base.
+   */
+  void rejectRegistered(Set<String> registered) {
+    for (String identifier : registered) {
+      Integer index = pending.remove(identifier);
+      if (index != null) {
+        reject(index, StatusEnum.DUPLICATE, EX_USER_REGISTRED);
+      }
+    }
+  }
+
+  /**
+   * Parte los pendientes en bloques de inserción, asignando _id y versión.
+   *
+   * @param chunkSize tamaño máximo de cada bloque.
+   * @param idGenerator generador del _id de cada customer.
+   * @return bloques con los índices del lote.
+   */
+  List<List<Integer>> chunks(int chunkSize, IdGenerator idGenerator) {
+    List<List<Integer>> chunks = new ArrayList<>();
+    List<Integer> chunk = new ArrayList<>(chunkSize);
+    for (Integer index : pending.values()) {
+      Customer customer = customers.get(index);
+      customer.setId(idGenerator.nextId());
+      customer.setVersion(0L);
+      chunk.add(index);
+      if (chunk.size() == chunkSize) {
+        chunks.add(chunk);
+        chunk = new ArrayList<>(chunkSize);
+      }
+    }
+    if (!chunk.isEmpty()) {
+      chunks.add(chunk);
+    }
+    return chunks;
+  }
+
+  List<Customer> customersOf(List<Integer> chunk) {
+    List<Customer> chunkCustomers = new ArrayList<>(chunk.size());
+    chunk.forEach(index -> chunkCustomers.add(customers.get(index)));
+    return chunkCustomers;
+  }
+
+  /**
+   * Registra el resultado de insertar un bloque.
+   *
+   * @param chunk    índices del lote insertados en el bloque.
+   * @param failures posición dentro del bloque y código de error de Mongo.
+   */
+  void applyInsert(List<Integer> chunk, Map<Integer, Integer> failures) {
+    for (int position = 0; position < chunk.size(); position++) {
+      int index = chunk.get(position);
+      Integer code = failures.get(position);
+      if (code == null) {
+        results[index] = result(index, StatusEnum.CREATED, null).id(customers.get(index).getId());
+      } else if (code == MONGO_DUPLICATE_KEY) {
+        reject(index, StatusEnum.DUPLICATE, EX_USER_REGISTRED);
+      } else {
+        reject(index, StatusEnum.ERROR, EX_BATCH_INSERT);
+      }
+    }
+  }
+
+  /**
+   * Identificadores de los clientes que quedaron insertados.
+   *
+   * @return los identificadores, en el orden del lote.
+   */
+  List<String> createdIdentifiers() {
+    List<String> created = new ArrayList<>();
+    for (int index = 0; index < results.length; index++) {
+      if (results[index] != null && results[index].getStatus() == StatusEnum.CREATED) {
+        created.add(customers.get(index).getIdentifier());
+      }
+    }
+    return created;
+  }
+
+  List<CustomerBatchResult> results() {
+    return Arrays.asList(results);
+  }
+
+  private void reject(int index, StatusEnum status, String message) {
+    results[index] = result(index, status, message);
+  }
+
+  private void invalid(int index, ErrorResponseException error) {
+    results[index] = result(index, StatusEnum.INVALID, error.getMessage()).details(error.getDetails());
+  }
+
+  private CustomerBatchResult result(int index, StatusEnum status, String message) {
+    Customer customer = customers.get(index);
+    return new CustomerBatchResult()
+        .index(index)
+        .identifier(customer == null ? null : customer.getIdentifier())
+        .status(status)
+        .message(message);
+  }
+}
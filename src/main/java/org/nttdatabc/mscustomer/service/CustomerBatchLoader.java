@@ -0,0 +1,136 @@
+package org.nttdatabc.mscustomer.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.reactivex.rxjava3.core.Maybe;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.nttdatabc.mscustomer.model.Customer;
+import org.nttdatabc.mscustomer.repository.CustomerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Junta las lecturas de Customer por _id de CustomerServiceImpl en una consulta $in, al estilo
+ * DataLoader: la primera clave abre una ventana de window y la consulta sale al cerrarse o
+ * cuando esperan max-size claves, lo que ocurra antes. Cada llamada recibe su customer (o vacío)
+ * del resultado de la consulta, o el error de la consulta si falló.
+ * Es opcional (mscustomer.batch-loader.enabled): cambia un poco de latencia por menos round trips.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "mscustomer.batch-loader.enabled", havingValue = "true")
+public class CustomerBatchLoader {
+  public static final String BATCH_SIZE_SUMMARY = "customer.batch.loader.size";
+
+  @Autowired
+  private CustomerRepository customerRepository;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Value("${mscustomer.batch-loader.window:2ms}")
+  private Duration window;
+
+  @Value("${mscustomer.batch-loader.max-size:100}")
+  private int maxSize;
+
+  @Value("${mscustomer.batch-loader.threads:2}")
+  private int threads;
+
+  private ScheduledThreadPoolExecutor executor;
+  private DistributionSummary batchSizes;
+  private Map<String, CompletableFuture<Customer>> pending = new HashMap<>();
+  private long generation;
+
+  /**
+   * Crea los hilos que cierran las ventanas y ejecutan las consultas.
+   */
+  @PostConstruct
+  public void start() {
+    AtomicInteger count = new AtomicInteger();
+    executor = new ScheduledThreadPoolExecutor(threads, runnable -> {
+      Thread thread = new Thread(runnable, "customer-batch-loader-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    batchSizes = DistributionSummary.builder(BATCH_SIZE_SUMMARY)
+        .description("Claves por consulta $in")
+        .register(meterRegistry);
+  }
+
+  @PreDestroy
+  public void stop() {
+    executor.shutdown();
+  }
+
+  /**
+   * Agrega la clave a la ventana en curso; las repetidas dentro de la ventana comparten resultado.
+   *
+   * @param customerId _id del customer.
+   * @return el customer, vacío si no existe.
+   */
+  public Maybe<Customer> load(String customerId) {
+    return Maybe.defer(() -> Maybe.fromCompletionStage(enqueue(customerId)));
+  }
+
+  private CompletableFuture<Customer> enqueue(String customerId) {
+    CompletableFuture<Customer> result;
+    Map<String, CompletableFuture<Customer>> full = null;
+    synchronized (this) {
+      if (pending.isEmpty()) {
+        long opened = generation;
+        executor.schedule(() -> closeWindow(opened), window.toNanos(), TimeUnit.NANOSECONDS);
+      }
+      result = pending.computeIfAbsent(customerId, id -> new CompletableFuture<>());
+      if (pending.size() >= maxSize) {
+        full = takePending();
+      }
+    }
+    if (full != null) {
+      Map<String, CompletableFuture<Customer>> batch = full;
+      executor.execute(() -> dispatch(batch));
+    }
+    return result;
+  }
+
+  private void closeWindow(long opened) {
+    Map<String, CompletableFuture<Customer>> batch;
+    synchronized (this) {
+      if (generation != opened || pending.isEmpty()) {
+        return;
+      }
+      batch = takePending();
+    }
+    dispatch(batch);
+  }
+
+  private Map<String, CompletableFuture<Customer>> takePending() {
+    Map<String, CompletableFuture<Customer>> batch = pending;
+    pending = new HashMap<>();
+    generation++;
+    return batch;
+  }
+
+  private void dispatch(Map<String, CompletableFuture<Customer>> batch) {
+    batchSizes.record(batch.size());
+    try {
+      Map<String, Customer> found = new HashMap<>();
+      customerRepository.findAllById(batch.keySet()).forEach(customer -> found.put(customer.getId(), customer));
+      batch.forEach((customerId, result) -> result.complete(found.get(customerId)));
+    } catch (RuntimeException e) {
+      log.warn("dispatch:: batch of {} failed", batch.size(), e);
+      batch.values().forEach(result -> result.completeExceptionally(e));
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package org.nttdatabc.mscustomer.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.nttdatabc.mscustomer.model.Customer;
+import org.nttdatabc.mscustomer.utils.Utilitarios;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache en memoria de Customer por _id, acotada por tamaño y TTL.
+ * Las estadísticas (hit/miss/eviction) se publican como métricas cache.* con cache=customers.
+ * Cada clave cae en una franja con un contador que avanza en cada invalidate: quien carga toma el
+ * contador antes de leer de Mongo y solo guarda si no cambió, así una lectura que compitió con una
+ * escritura no vuelve a dejar el documento anterior. Se entregan y guardan copias, nunca la
+ * instancia cacheada.
+ */
+@Component
+public class CustomerCache implements MeterBinder {
+  public static final String CACHE_NAME = "customers";
+  private static final int STRIPES = 1024;
+
+  private final Cache<String, Customer> cache;
+  private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+
+  /**
+   * Constructor.
+   *
+   * @param maximumSize cantidad máxima de customers en cache.
+   * @param ttl         tiempo de vida desde que se escribe la entrada.
+   */
+  public CustomerCache(@Value("${mscustomer.cache.maximum-size:10000}") long maximumSize,
+                       @Value("${mscustomer.cache.ttl:5m}") Duration ttl) {
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Busca el customer en la cache.
+   *
+   * @param customerId _id del customer.
+   * @return una copia del customer cacheado, null si no está.
+   */
+  public Customer getIfPresent(String customerId) {
+    Customer cached = cache.getIfPresent(customerId);
+    return cached == null ? null : Utilitarios.copyOf(cached);
+  }
+
+  /**
+   * Marca de invalidación de la clave, a tomar antes de leer el customer de Mongo.
+   *
+   * @param customerId _id del customer.
+   * @return valor a pasar a put.
+   */
+  public long stamp(String customerId) {
+    return stamps.get(stripe(customerId));
+  }
+
+  /**
+   * Guarda una copia del customer leído, salvo que la clave se haya invalidado desde stamp.
+   * El chequeo y el guardado van en el compute de la clave, atómicos respecto del invalidate.
+   *
+   * @param customer customer leído de Mongo.
+   * @param stamp    marca tomada antes de leerlo.
+   */
+  public void put(Customer customer, long stamp) {
+    Customer copy = Utilitarios.copyOf(customer);
+    cache.asMap().compute(customer.getId(), (customerId, current) -> stamp(customerId) == stamp ? copy : current);
+  }
+
+  public void invalidate(String customerId) {
+    stamps.incrementAndGet(stripe(customerId));
+    cache.invalidate(customerId);
+  }
+
+  /**
+   * Vacía la cache e invalida las cargas en curso.
+   */
+  public void invalidateAll() {
+    for (int stripe = 0; stripe < STRIPES; stripe++) {
+      stamps.incrementAndGet(stripe);
+    }
+    cache.invalidateAll();
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  private static int stripe(String customerId) {
+    int hash = customerId.hashCode();
+    return (hash ^ hash >>> 16) & (STRIPES - 1);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+  }
+}
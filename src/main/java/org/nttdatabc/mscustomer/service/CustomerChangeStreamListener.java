@@ -0,0 +1,302 @@
+package org.nttdatabc.mscustomer.service;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.nttdatabc.mscustomer.model.Customer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mantiene coherente el CustomerCache entre instancias: escucha el change stream de la colección
+ * customer e invalida la entrada de cada documento insertado, actualizado, reemplazado o borrado.
+ * El resume token se guarda en Mongo para retomar desde el último evento tras una reconexión o un
+ * reinicio; mientras el stream está caído las entradas solo expiran por el TTL de la cache.
+ * Del resume token del último evento sale además la versión de la colección para el ETag del
+ * listado: es el mismo en todas las instancias que leyeron hasta ese evento. Esa versión y las
+ * versiones de la cache solo valen mientras el stream está abierto y al día (isCaughtUp).
+ * Cada instancia guarda su propio token (token-id, por defecto con el HOSTNAME): con uno
+ * compartido, una instancia atrasada pisaría el de otra y al retomar se saltearía eventos. Los
+ * tokens de instancias que ya no existen vencen por un índice TTL sobre updatedAt.
+ * Requiere replica set (los change streams no existen en un mongod standalone).
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "mscustomer.cache.change-stream.enabled", havingValue = "true")
+public class CustomerChangeStreamListener {
+  public static final String EVENTS_COUNTER = "customer.cache.change.events";
+  public static final String RESTARTS_COUNTER = "customer.cache.change.restarts";
+  public static final String TOKEN_COLLECTION = "customer_resume_tokens";
+  public static final String TTL_TOKEN_UPDATED = "ttl_resume_token_updated";
+
+  private static final Set<Integer> HISTORY_LOST_CODES = Set.of(136, 280, 286);
+  private static final Duration MAX_AWAIT = Duration.ofSeconds(1);
+  private static final Duration TOKEN_TTL = Duration.ofDays(1);
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Autowired
+  private CustomerCache customerCache;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Value("${mscustomer.cache.change-stream.token-id:${spring.application.name}-${HOSTNAME:${random.uuid}}}")
+  private String tokenId;
+
+  @Value("${mscustomer.cache.change-stream.token-save-interval:5s}")
+  private Duration tokenSaveInterval;
+
+  @Value("${mscustomer.cache.change-stream.min-backoff:1s}")
+  private Duration minBackoff;
+
+  @Value("${mscustomer.cache.change-stream.max-backoff:30s}")
+  private Duration maxBackoff;
+
+  private volatile boolean running;
+  private volatile MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+  private Thread worker;
+  private BsonDocument resumeToken;
+  private volatile String lastChange;
+  private volatile boolean caughtUp;
+  private long savedAt;
+
+  /**
+   * Arranca el hilo que consume el change stream.
+   */
+  @PostConstruct
+  public void start() {
+    running = true;
+    worker = new Thread(this::run, "customer-change-stream");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  /**
+   * Cierra el cursor, guarda el último resume token y espera al hilo.
+   */
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    caughtUp = false;
+    MongoChangeStreamCursor<ChangeStreamDocument<Document>> current = cursor;
+    if (current != null) {
+      current.close();
+    }
+    worker.interrupt();
+    worker.join(TimeUnit.SECONDS.toMillis(5));
+  }
+
+  /**
+   * Versión de la colección según el último evento aplicado.
+   *
+   * @return null si el stream no está al día, todavía no hubo eventos o se perdió parte del historial.
+   */
+  public String lastChange() {
+    return caughtUp ? lastChange : null;
+  }
+
+  /**
+   * Indica si el stream está abierto y ya aplicó los eventos pendientes al abrirse. Mientras no,
+   * la cache puede no haber visto escrituras de otras instancias.
+   *
+   * @return true si la cache está al día con la colección.
+   */
+  public boolean isCaughtUp() {
+    return caughtUp;
+  }
+
+  /**
+   * Bucle de consumo: ante un error se reconecta con backoff exponencial retomando desde el
+   * resume token. Si el token ya no está en el oplog se descarta y se vacía la cache.
+   */
+  private void run() {
+    try {
+      tokens().createIndex(Indexes.ascending("updatedAt"),
+          new IndexOptions().name(TTL_TOKEN_UPDATED).expireAfter(TOKEN_TTL.toSeconds(), TimeUnit.SECONDS));
+      resumeToken = loadToken();
+    } catch (RuntimeException e) {
+      log.warn("run:: resume token not loaded, starting from now", e);
+    }
+    long backoff = minBackoff.toMillis();
+    while (running) {
+      try {
+        consume();
+        backoff = minBackoff.toMillis();
+      } catch (MongoCommandException e) {
+        if (!running) {
+          break;
+        }
+        lastChange = null;
+        if (HISTORY_LOST_CODES.contains(e.getErrorCode())) {
+          log.warn("run:: resume token lost, cache cleared ({})", e.getErrorMessage());
+          resumeToken = null;
+          saveToken();
+          customerCache.invalidateAll();
+        } else {
+          log.warn("run:: change stream failed, retrying in {} ms", backoff, e);
+          backoff = pause(backoff);
+        }
+        meterRegistry.counter(RESTARTS_COUNTER).increment();
+      } catch (RuntimeException e) {
+        if (!running) {
+          break;
+        }
+        lastChange = null;
+        log.warn("run:: change stream failed, retrying in {} ms", backoff, e);
+        meterRegistry.counter(RESTARTS_COUNTER).increment();
+        backoff = pause(backoff);
+      }
+    }
+    saveToken();
+    lastChange = null;
+    log.info("run:: change stream stopped");
+  }
+
+  /**
+   * Abre el stream y lo consume hasta que se cierra. Solo se piden operationType y documentKey:
+   * no hace falta el documento para invalidar. Con tryNext el token avanza aunque no haya
+   * eventos, así el guardado periódico no queda fuera de la ventana del oplog. El primer tryNext
+   * sin evento indica que ya se aplicaron los pendientes desde el resume token.
+   */
+  private void consume() {
+    MongoCollection<Document> collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Customer.class));
+    ChangeStreamIterable<Document> changes = collection
+        .watch(List.of(Aggregates.project(Projections.include("operationType", "documentKey"))))
+        .maxAwaitTime(MAX_AWAIT.toMillis(), TimeUnit.MILLISECONDS);
+    if (resumeToken != null) {
+      changes.resumeAfter(resumeToken);
+    }
+    try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> opened = changes.cursor()) {
+      cursor = opened;
+      log.info("consume:: change stream opened, resumed={}", resumeToken != null);
+      while (running) {
+        ChangeStreamDocument<Document> change = opened.tryNext();
+        if (change == null) {
+          caughtUp = true;
+        } else if (apply(change)) {
+          return;
+        }
+        if (opened.getResumeToken() != null) {
+          resumeToken = opened.getResumeToken();
+        }
+        if (System.currentTimeMillis() - savedAt >= tokenSaveInterval.toMillis()) {
+          saveToken();
+        }
+      }
+    } finally {
+      caughtUp = false;
+      cursor = null;
+    }
+  }
+
+  /**
+   * Aplica un evento a la cache.
+   *
+   * @param change evento del change stream.
+   * @return true si el stream quedó invalidado (drop o rename de la colección) y hay que reabrirlo.
+   */
+  private boolean apply(ChangeStreamDocument<Document> change) {
+    OperationType operation = change.getOperationType();
+    meterRegistry.counter(EVENTS_COUNTER, "operation", operation.getValue()).increment();
+    lastChange = UUID.nameUUIDFromBytes(change.getResumeToken().toJson().getBytes(StandardCharsets.UTF_8)).toString();
+    switch (operation) {
+      case INSERT:
+      case UPDATE:
+      case REPLACE:
+      case DELETE:
+        String customerId = idOf(change.getDocumentKey().get("_id"));
+        if (customerId == null) {
+          customerCache.invalidateAll();
+        } else {
+          customerCache.invalidate(customerId);
+        }
+        return false;
+      case DROP:
+      case RENAME:
+      case DROP_DATABASE:
+      case INVALIDATE:
+        customerCache.invalidateAll();
+        resumeToken = null;
+        saveToken();
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * El _id se guarda como String, salvo los que Spring Data convierte a ObjectId por su formato.
+   * Con otro tipo no se puede saber la clave de la cache y se devuelve null.
+   */
+  private static String idOf(BsonValue id) {
+    if (id.isString()) {
+      return id.asString().getValue();
+    }
+    return id.isObjectId() ? id.asObjectId().getValue().toHexString() : null;
+  }
+
+  private BsonDocument loadToken() {
+    Document stored = tokens().find(Filters.eq("_id", tokenId)).first();
+    if (stored == null || stored.get("token") == null) {
+      return null;
+    }
+    lastChange = stored.getString("lastChange");
+    return stored.get("token", Document.class)
+        .toBsonDocument(BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry());
+  }
+
+  private void saveToken() {
+    savedAt = System.currentTimeMillis();
+    try {
+      tokens().replaceOne(Filters.eq("_id", tokenId),
+          new Document("_id", tokenId).append("token", resumeToken).append("lastChange", lastChange)
+              .append("updatedAt", new Date(savedAt)),
+          new ReplaceOptions().upsert(true));
+    } catch (RuntimeException e) {
+      log.warn("saveToken:: resume token not saved", e);
+    }
+  }
+
+  private MongoCollection<Document> tokens() {
+    return mongoTemplate.getCollection(TOKEN_COLLECTION);
+  }
+
+  private long pause(long backoff) {
+    try {
+      Thread.sleep(backoff);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      running = false;
+    }
+    return Math.min(backoff * 2, maxBackoff.toMillis());
+  }
+}
@@ -0,0 +1,217 @@
+package org.nttdatabc.mscustomer.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.nttdatabc.mscustomer.repository.CustomerRepository;
+import org.nttdatabc.mscustomer.utils.CountingBloomFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Identificadores registrados en un CountingBloomFilter, para no consultar a Mongo por los que
+ * seguro no existen en un alta por lote (el alta individual no consulta, inserta y deja actuar al
+ * índice único). Es opcional y se reserva y carga desde la colección recién con el primer lote, en
+ * un hilo aparte; luego se mantiene con las altas y bajas de esta instancia. Hasta que termina la
+ * carga (o si está deshabilitado) todos los identificadores son candidatos. Un falso negativo
+ * (alta en otra instancia, baja de algo no cargado) solo cuesta el rechazo del índice único, que
+ * sigue siendo la validación final. Publica la tasa de falsos positivos esperada y observada y la
+ * memoria del filtro.
+ */
+@Component
+@Slf4j
+public class CustomerIdentifierFilter implements MeterBinder {
+  public static final String FPP_GAUGE = "customer.identifier.filter.fpp";
+  public static final String MEMORY_GAUGE = "customer.identifier.filter.memory";
+  public static final String SIZE_GAUGE = "customer.identifier.filter.identifiers";
+  public static final String CHECKS_COUNTER = "customer.identifier.filter.checks";
+  public static final String FALSE_POSITIVES_COUNTER = "customer.identifier.filter.false.positives";
+
+  private static final Duration RETRY_INTERVAL = Duration.ofSeconds(30);
+
+  // Lazy: es un MeterBinder y el repositorio depende del MeterRegistry (métricas del driver de Mongo)
+  @Autowired
+  @Lazy
+  private CustomerRepository customerRepository;
+
+  private final boolean enabled;
+  private final long expectedInsertions;
+  private final double fpp;
+  private final AtomicBoolean loading = new AtomicBoolean();
+  private volatile CountingBloomFilter filter;
+  private final AtomicLong identifiers = new AtomicLong();
+  private final LongAdder absent = new LongAdder();
+  private final LongAdder candidates = new LongAdder();
+  private final LongAdder falsePositives = new LongAdder();
+  private volatile boolean ready;
+
+  /**
+   * Constructor.
+   *
+   * @param enabled            si false nunca se reserva el filtro y todos son candidatos.
+   * @param expectedInsertions identificadores para los que se dimensiona el filtro.
+   * @param fpp                tasa de falsos positivos buscada con esa cantidad.
+   */
+  public CustomerIdentifierFilter(@Value("${mscustomer.identifier-filter.enabled:false}") boolean enabled,
+                                  @Value("${mscustomer.identifier-filter.expected-insertions:1000000}") long expectedInsertions,
+                                  @Value("${mscustomer.identifier-filter.fpp:0.01}") double fpp) {
+    this.enabled = enabled;
+    this.expectedInsertions = expectedInsertions;
+    this.fpp = fpp;
+  }
+
+  /**
+   * Arranca la carga la primera vez, en un hilo aparte para no demorar el lote; si Mongo no
+   * responde reintenta.
+   */
+  private void startLoading() {
+    if (!enabled || !loading.compareAndSet(false, true)) {
+      return;
+    }
+    allocate();
+    Thread loader = new Thread(() -> {
+      while (!load()) {
+        try {
+          Thread.sleep(RETRY_INTERVAL.toMillis());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }, "customer-identifier-filter");
+    loader.setDaemon(true);
+    loader.start();
+  }
+
+  /**
+   * Agrega al filtro todos los identificadores de la colección. Si falla a mitad, el reintento
+   * vuelve a sumar los ya leídos: eso solo puede dejar falsos positivos de más.
+   *
+   * @return true si terminó la carga.
+   */
+  public boolean load() {
+    loading.set(true);
+    allocate();
+    long start = System.nanoTime();
+    try (Stream<String> stored = customerRepository.streamIdentifiers()) {
+      stored.forEach(this::add);
+    } catch (RuntimeException e) {
+      log.warn("load:: identifier filter not loaded, retrying in {}", RETRY_INTERVAL, e);
+      return false;
+    }
+    ready = true;
+    log.info("load:: identifier filter loaded, {} identifiers in {} ms", identifiers.get(),
+        Duration.ofNanos(System.nanoTime() - start).toMillis());
+    return true;
+  }
+
+  /**
+   * Filtra los identificadores que podrían estar registrados, los demás no hace falta buscarlos.
+   *
+   * @param identifiers identificadores de un alta.
+   * @return los que hay que buscar en Mongo.
+   */
+  public Set<String> candidates(Collection<String> identifiers) {
+    startLoading();
+    if (!ready) {
+      return new HashSet<>(identifiers);
+    }
+    Set<String> maybe = new HashSet<>();
+    for (String identifier : identifiers) {
+      if (filter.mightContain(identifier)) {
+        maybe.add(identifier);
+      }
+    }
+    absent.add(identifiers.size() - maybe.size());
+    candidates.add(maybe.size());
+    return maybe;
+  }
+
+  /**
+   * Registra cuántos candidatos no estaban en Mongo, para la tasa de falsos positivos observada.
+   *
+   * @param checked    candidatos buscados.
+   * @param registered los que estaban registrados.
+   */
+  public void recordProbe(int checked, int registered) {
+    if (ready) {
+      falsePositives.add(checked - registered);
+    }
+  }
+
+  /**
+   * Agrega un identificador registrado; no hace nada si el filtro está deshabilitado.
+   *
+   * @param identifier identificador del customer, puede ser null.
+   */
+  public void add(String identifier) {
+    CountingBloomFilter filter = this.filter;
+    if (filter != null && identifier != null) {
+      filter.add(identifier);
+      identifiers.incrementAndGet();
+    }
+  }
+
+  /**
+   * Quita el identificador de un customer borrado, si el filtro lo tenía.
+   *
+   * @param identifier identificador del customer, puede ser null.
+   */
+  public void remove(String identifier) {
+    CountingBloomFilter filter = this.filter;
+    if (filter != null && identifier != null && filter.mightContain(identifier)) {
+      filter.remove(identifier);
+      identifiers.decrementAndGet();
+    }
+  }
+
+  public boolean isReady() {
+    return ready;
+  }
+
+  private synchronized void allocate() {
+    if (filter == null) {
+      filter = new CountingBloomFilter(expectedInsertions, fpp);
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    if (!enabled) {
+      return;
+    }
+    Gauge.builder(FPP_GAUGE, this, self -> self.filter == null ? 0 : self.filter.expectedFpp(Math.max(0, identifiers.get())))
+        .description("Probabilidad de falso positivo esperada con los identificadores cargados")
+        .register(registry);
+    Gauge.builder(MEMORY_GAUGE, this, self -> self.filter == null ? 0 : self.filter.memoryBytes())
+        .description("Memoria de los contadores del filtro")
+        .baseUnit("bytes")
+        .register(registry);
+    Gauge.builder(SIZE_GAUGE, identifiers, AtomicLong::get)
+        .description("Identificadores en el filtro (aproximado)")
+        .register(registry);
+    FunctionCounter.builder(CHECKS_COUNTER, absent, LongAdder::sum)
+        .description("Identificadores consultados al filtro")
+        .tag("result", "absent")
+        .register(registry);
+    FunctionCounter.builder(CHECKS_COUNTER, candidates, LongAdder::sum)
+        .description("Identificadores consultados al filtro")
+        .tag("result", "maybe")
+        .register(registry);
+    FunctionCounter.builder(FALSE_POSITIVES_COUNTER, falsePositives, LongAdder::sum)
+        .description("Candidatos del filtro que no estaban registrados")
+        .register(registry);
+  }
+}
@@ -0,0 +1,17 @@
+package org.nttdatabc.mscustomer.service;
+
+import org.nttdatabc.mscustomer.model.Customer;
+import org.nttdatabc.mscustomer.utils.SingleFlight;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lecturas de Customer por _id en curso, compartidas entre las llamadas concurrentes que no
+ * encontraron el customer en el CustomerCache (getCustomerById y getAuthorizedSigners).
+ */
+@Component
+public class CustomerLoads extends SingleFlight<String, Customer> {
+
+  public CustomerLoads() {
+    super(CustomerCache.CACHE_NAME);
+  }
+}
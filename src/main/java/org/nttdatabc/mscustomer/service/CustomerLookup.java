@@ -0,0 +1,106 @@
+package org.nttdatabc.mscustomer.service;
+
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_ERROR_REQUEST;
+import static org.nttdatabc.mscustomer.utils.Constantes.LOOKUP_CHUNK_SIZE;
+import static org.nttdatabc.mscustomer.utils.Constantes.LOOKUP_MAX_KEYS;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.nttdatabc.mscustomer.model.Customer;
+import org.nttdatabc.mscustomer.model.CustomerLookupRequest;
+import org.nttdatabc.mscustomer.model.CustomerLookupResponse;
+import org.nttdatabc.mscustomer.utils.exceptions.errors.ErrorResponseException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Estado de una búsqueda múltiple por _id o identifier, compartido por los servicios bloqueante y reactivo.
+ */
+final class CustomerLookup {
+  private final Set<String> ids;
+  private final Set<String> identifiers;
+  private final Map<String, Customer> found = new LinkedHashMap<>();
+  private final Set<String> foundIdentifiers = new HashSet<>();
+
+  private CustomerLookup(Set<String> ids, Set<String> identifiers) {
+    this.ids = ids;
+    this.identifiers = identifiers;
+  }
+
+  /**
+   * Quita repetidos y valida la cantidad de claves.
+   *
+   * @param request ids e identifiers solicitados.
+   * @return la búsqueda preparada.
+   * @throws ErrorResponseException si no hay claves o superan LOOKUP_MAX_KEYS.
+   */
+  static CustomerLookup of(CustomerLookupRequest request) throws ErrorResponseException {
+    Set<String> ids = request == null || request.getIds() == null
+        ? new LinkedHashSet<>() : new LinkedHashSet<>(request.getIds());
+    Set<String> identifiers = request == null || request.getIdentifiers() == null
+        ? new LinkedHashSet<>() : new LinkedHashSet<>(request.getIdentifiers());
+    ids.remove(null);
+    identifiers.remove(null);
+    int keys = ids.size() + identifiers.size();
+    if (keys == 0 || keys > LOOKUP_MAX_KEYS) {
+      throw new ErrorResponseException(EX_ERROR_REQUEST, HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST);
+    }
+    return new CustomerLookup(ids, identifiers);
+  }
+
+  Set<String> ids() {
+    return ids;
+  }
+
+  void add(Customer customer) {
+    found.put(customer.getId(), customer);
+    foundIdentifiers.add(customer.getIdentifier());
+  }
+
+  List<List<String>> missingIdChunks() {
+    List<String> missing = new ArrayList<>();
+    ids.stream().filter(id -> !found.containsKey(id)).forEach(missing::add);
+    return chunks(missing);
+  }
+
+  List<List<String>> missingIdentifierChunks() {
+    List<String> missing = new ArrayList<>();
+    identifiers.stream().filter(identifier -> !foundIdentifiers.contains(identifier)).forEach(missing::add);
+    return chunks(missing);
+  }
+
+  /**
+   * Arma la respuesta con los encontrados y las claves sin resultado.
+   *
+   * @return la respuesta.
+   */
+  CustomerLookupResponse response() {
+    List<String> missing = new ArrayList<>();
+    ids.stream().filter(id -> !found.containsKey(id)).forEach(missing::add);
+    identifiers.stream().filter(identifier -> !foundIdentifiers.contains(identifier)).forEach(missing::add);
+    return new CustomerLookupResponse()
+        .customers(new ArrayList<>(found.values()))
+        .missing(missing);
+  }
+
+  private static List<List<String>> chunks(Collection<String> keys) {
+    List<List<String>> chunks = new ArrayList<>();
+    List<String> chunk = new ArrayList<>();
+    for (String key : keys) {
+      chunk.add(key);
+      if (chunk.size() == LOOKUP_CHUNK_SIZE) {
+        chunks.add(chunk);
+        chunk = new ArrayList<>();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      chunks.add(chunk);
+    }
+    return chunks;
+  }
+}
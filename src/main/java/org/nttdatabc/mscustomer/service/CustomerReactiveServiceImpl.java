@@ -0,0 +1,324 @@
+package org.nttdatabc.mscustomer.service;
+
+
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_ERROR_PERSON_AUTH_SIGNER;
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_NOT_FOUND_RECURSO;
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_USER_REGISTRED;
+import static org.nttdatabc.mscustomer.utils.CustomerValidator.validateAuthorizedSigner;
+import static org.nttdatabc.mscustomer.utils.CustomerValidator.validateCustomer;
+import static org.nttdatabc.mscustomer.utils.CustomerValidator.validateCustomerPatch;
+import static org.nttdatabc.mscustomer.utils.CustomerValidator.validateNewCustomer;
+import static org.nttdatabc.mscustomer.utils.Utilitarios.buildPage;
+import static org.nttdatabc.mscustomer.utils.Utilitarios.buildSummaryPage;
+import static org.nttdatabc.mscustomer.utils.Utilitarios.decodeCursor;
+import static org.nttdatabc.mscustomer.utils.Utilitarios.requireDni;
+import static org.nttdatabc.mscustomer.utils.Utilitarios.resolvePageSize;
+import static org.nttdatabc.mscustomer.utils.Utilitarios.toSummary;
+import static org.nttdatabc.mscustomer.utils.Utilitarios.versionOf;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.nttdatabc.mscustomer.model.AuthorizedSigner;
+import org.nttdatabc.mscustomer.model.Customer;
+import org.nttdatabc.mscustomer.model.CustomerBatchResult;
+import org.nttdatabc.mscustomer.model.CustomerLookupRequest;
+import org.nttdatabc.mscustomer.model.CustomerLookupResponse;
+import org.nttdatabc.mscustomer.model.CustomerPage;
+import org.nttdatabc.mscustomer.model.CustomerPatch;
+import org.nttdatabc.mscustomer.model.CustomerSummary;
+import org.nttdatabc.mscustomer.model.CustomerSummaryPage;
+import org.nttdatabc.mscustomer.repository.CustomerReactiveRepository;
+import org.nttdatabc.mscustomer.repository.CustomerSearch;
+import org.nttdatabc.mscustomer.utils.Utilitarios;
+import org.nttdatabc.mscustomer.utils.exceptions.errors.ErrorResponseException;
+import org.nttdatabc.mscustomer.utils.id.IdGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+
+/**
+ * Implementación no bloqueante del CustomerService sobre el driver reactivo de Mongo.
+ * Los Mono/Flux del repositorio se adaptan al contrato RxJava del servicio.
+ */
+@Service
+@ConditionalOnProperty(name = "mscustomer.data.mode", havingValue = "reactive")
+public class CustomerReactiveServiceImpl implements CustomerService {
+  @Autowired
+  private CustomerReactiveRepository customerReactiveRepository;
+
+  @Autowired
+  private CustomerCache customerCache;
+
+  @Autowired
+  private CustomerLoads customerLoads;
+
+  @Autowired
+  private CustomerIdentifierFilter identifierFilter;
+
+  // solo existe si el change stream mantiene la cache coherente entre instancias (si está al día)
+  @Autowired(required = false)
+  private CustomerChangeStreamListener changeStreamListener;
+
+  @Autowired
+  private IdGenerator idGenerator;
+
+  @Value("${mscustomer.batch.chunk-size:500}")
+  private int batchChunkSize;
+
+  @Override
+  public Observable<List<Customer>> getAllCustomersService() {
+    return Observable.fromPublisher(customerReactiveRepository.findAll().collectList());
+  }
+
+  @Override
+  public Single<CustomerPage> getCustomersPageService(Integer limit, String cursor) throws ErrorResponseException {
+    return Single.defer(() -> {
+      int size = resolvePageSize(limit);
+      return Flowable.fromPublisher(customerReactiveRepository.findPageAfter(decodeCursor(cursor), size + 1))
+          .toList()
+          .map(customers -> buildPage(customers, size));
+    });
+  }
+
+  @Override
+  public Single<CustomerSummaryPage> getCustomersSummaryPageService(Integer limit, String cursor) throws ErrorResponseException {
+    return Single.defer(() -> {
+      int size = resolvePageSize(limit);
+      return Flowable.fromPublisher(customerReactiveRepository.findSummaryPageAfter(decodeCursor(cursor), size + 1))
+          .toList()
+          .map(summaries -> buildSummaryPage(summaries, size));
+    });
+  }
+
+  @Override
+  public Single<CustomerPage> searchCustomersService(String name, String email, String phone, Integer limit, String cursor)
+      throws ErrorResponseException {
+    return Single.defer(() -> {
+      CustomerSearch search = CustomerSearches.of(name, email, phone, limit, cursor);
+      return Flowable.fromPublisher(customerReactiveRepository.search(search))
+          .toList()
+          .map(customers -> CustomerSearches.page(customers, search));
+    });
+  }
+
+  @Override
+  public Flowable<Customer> streamAllCustomersService() {
+    return Flowable.fromPublisher(customerReactiveRepository.streamAll());
+  }
+
+  @Override
+  public Flowable<CustomerSummary> streamAllCustomerSummariesService() {
+    return Flowable.fromPublisher(customerReactiveRepository.streamAllSummaries());
+  }
+
+  @Override
+  public Completable createCustomerService(Customer customer) throws ErrorResponseException {
+    return Completable.defer(() -> {
+      validateNewCustomer(customer);
+
+      customer.setId(idGenerator.nextId());
+      customer.setVersion(0L);
+      return Completable.fromPublisher(customerReactiveRepository.insert(customer))
+          .onErrorResumeNext(e -> {
+            if (!(e instanceof DuplicateKeyException)) {
+              return Completable.error(e);
+            }
+            identifierFilter.add(customer.getIdentifier());
+            return Completable.error(new ErrorResponseException(EX_USER_REGISTRED,
+                HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST));
+          })
+          .doOnComplete(() -> identifierFilter.add(customer.getIdentifier()));
+    });
+  }
+
+  @Override
+  public Single<List<CustomerBatchResult>> createCustomersBatchService(List<Customer> customers) throws ErrorResponseException {
+    return Single.defer(() -> {
+      CustomerBatch batch = CustomerBatch.of(customers);
+      Set<String> identifiers = identifierFilter.candidates(batch.pendingIdentifiers());
+      Completable registered = identifiers.isEmpty()
+          ? Completable.complete()
+          : Single.fromPublisher(customerReactiveRepository.findRegisteredIdentifiers(identifiers))
+              .doOnSuccess(found -> {
+                identifierFilter.recordProbe(identifiers.size(), found.size());
+                batch.rejectRegistered(found);
+              })
+              .ignoreElement();
+      return registered
+          .andThen(Flowable.defer(() -> Flowable.fromIterable(batch.chunks(batchChunkSize, idGenerator))))
+          .concatMapCompletable(chunk -> Single.fromPublisher(customerReactiveRepository.insertUnordered(batch.customersOf(chunk)))
+              .doOnSuccess(failures -> batch.applyInsert(chunk, failures))
+              .ignoreElement())
+          .doOnComplete(() -> batch.createdIdentifiers().forEach(identifierFilter::add))
+          .andThen(Single.fromCallable(batch::results));
+    });
+  }
+
+  @Override
+  public Single<Customer> getCustomerByIdService(String customerId) throws ErrorResponseException {
+    return findCachedCustomer(customerId);
+  }
+
+  @Override
+  public Single<CustomerSummary> getCustomerSummaryByIdService(String customerId) throws ErrorResponseException {
+    return Single.defer(() -> {
+      Customer cached = customerCache.getIfPresent(customerId);
+      if (cached != null) {
+        return Single.just(toSummary(cached));
+      }
+      return Maybe.fromPublisher(customerReactiveRepository.findSummaryById(customerId))
+          .switchIfEmpty(Single.error(() -> new ErrorResponseException(EX_NOT_FOUND_RECURSO,
+              HttpStatus.NOT_FOUND.value(), HttpStatus.NOT_FOUND)));
+    });
+  }
+
+  @Override
+  public Single<Long> getCustomerVersionService(String customerId) throws ErrorResponseException {
+    return Single.defer(() -> {
+      // sin change stream al día la cache puede no haber visto escrituras de otra instancia
+      Customer cached = changeStreamListener == null || !changeStreamListener.isCaughtUp()
+          ? null : customerCache.getIfPresent(customerId);
+      if (cached != null) {
+        return Single.just(versionOf(cached));
+      }
+      return Maybe.fromPublisher(customerReactiveRepository.findVersionById(customerId))
+          .switchIfEmpty(Single.error(() -> new ErrorResponseException(EX_NOT_FOUND_RECURSO,
+              HttpStatus.NOT_FOUND.value(), HttpStatus.NOT_FOUND)));
+    });
+  }
+
+  @Override
+  public Maybe<String> getCollectionVersionService() {
+    return Maybe.fromCallable(() -> changeStreamListener == null ? null : changeStreamListener.lastChange());
+  }
+
+  @Override
+  public Single<CustomerLookupResponse> lookupCustomersService(CustomerLookupRequest request) throws ErrorResponseException {
+    return Single.defer(() -> {
+      CustomerLookup lookup = CustomerLookup.of(request);
+      for (String id : lookup.ids()) {
+        Customer cached = customerCache.getIfPresent(id);
+        if (cached != null) {
+          lookup.add(cached);
+        }
+      }
+      Flowable<Customer> byId = Flowable.defer(() -> Flowable.fromIterable(lookup.missingIdChunks()))
+          .concatMap(chunk -> {
+            Map<String, Long> stamps = new HashMap<>();
+            chunk.forEach(id -> stamps.put(id, customerCache.stamp(id)));
+            return Flowable.fromPublisher(customerReactiveRepository.findAllById(chunk))
+                .doOnNext(customer -> customerCache.put(customer, stamps.get(customer.getId())));
+          });
+      Flowable<Customer> byIdentifier = Flowable.defer(() -> Flowable.fromIterable(lookup.missingIdentifierChunks()))
+          .concatMap(chunk -> Flowable.fromPublisher(customerReactiveRepository.findAllByIdentifierIn(chunk)));
+      return byId.doOnNext(lookup::add).ignoreElements()
+          .andThen(byIdentifier.doOnNext(lookup::add).ignoreElements())
+          .andThen(Single.fromCallable(lookup::response));
+    });
+  }
+
+  @Override
+  public Completable updateCustomerService(Customer customer) throws ErrorResponseException {
+    return Completable.defer(() -> {
+      validateCustomer(customer);
+      return findCustomer(customer.getId())
+          .flatMapCompletable(customerFound -> {
+            String customerId = customerFound.getId();
+            return Single.fromPublisher(customerReactiveRepository.replaceCustomer(customerId, customer, versionOf(customerFound)))
+                .flatMapCompletable(replaced -> replaced
+                    ? Completable.complete()
+                    : Single.fromPublisher(customerReactiveRepository.existsById(customerId))
+                        .flatMapCompletable(exists -> Completable.error(CustomerServiceImpl.versionConflictError(exists))))
+                .doOnComplete(() -> customerCache.invalidate(customerFound.getId()));
+          });
+    });
+  }
+
+  @Override
+  public Completable patchCustomerService(String customerId, CustomerPatch patch) throws ErrorResponseException {
+    return Completable.defer(() -> {
+      validateCustomerPatch(patch);
+      return Single.fromPublisher(customerReactiveRepository.patchCustomer(customerId, patch))
+          .flatMapCompletable(patched -> patched
+              ? Completable.complete()
+              : Single.fromPublisher(customerReactiveRepository.existsById(customerId))
+                  .flatMapCompletable(exists -> Completable.error(CustomerServiceImpl.versionConflictError(exists))))
+          .doOnComplete(() -> customerCache.invalidate(customerId));
+    });
+  }
+
+  @Override
+  public Completable deleteCustomerByIdService(String customerId) throws ErrorResponseException {
+    return findCustomer(customerId)
+        .flatMapCompletable(customer -> Completable.fromPublisher(customerReactiveRepository.delete(customer))
+            .doOnComplete(() -> identifierFilter.remove(customer.getIdentifier())))
+        .doOnComplete(() -> customerCache.invalidate(customerId));
+  }
+
+  @Override
+  public Observable<List<AuthorizedSigner>> getAuthorizedSignersByCustomerIdService(String customerId) throws ErrorResponseException {
+    return findCachedCustomer(customerId)
+        .flatMapObservable(customer -> {
+          if (customer.getAuthorizedSigners() == null) {
+            return Observable.error(new ErrorResponseException(EX_ERROR_PERSON_AUTH_SIGNER,
+                HttpStatus.CONFLICT.value(), HttpStatus.CONFLICT));
+          }
+          return Observable.just(customer.getAuthorizedSigners());
+        });
+  }
+
+  @Override
+  public Single<CustomerSummaryPage> getCustomersBySignerDniService(String dni, Integer limit, String cursor) throws ErrorResponseException {
+    return Single.defer(() -> {
+      int size = resolvePageSize(limit);
+      return Flowable.fromPublisher(customerReactiveRepository.findSummariesBySignerDni(requireDni(dni), decodeCursor(cursor), size + 1))
+          .toList()
+          .map(summaries -> buildSummaryPage(summaries, size));
+    });
+  }
+
+  @Override
+  public Completable createAuthorizedSignersByCustomerId(String customerId, AuthorizedSigner authorizedSigner) throws ErrorResponseException {
+    return Completable.defer(() -> {
+      validateAuthorizedSigner(authorizedSigner);
+      return Single.fromPublisher(customerReactiveRepository.pushAuthorizedSigner(customerId, authorizedSigner))
+          .flatMapCompletable(pushed -> pushed
+              ? Completable.complete()
+              : Single.fromPublisher(customerReactiveRepository.existsById(customerId))
+                  .flatMapCompletable(exists -> Completable.error(CustomerServiceImpl.signerTargetError(exists))))
+          .doOnComplete(() -> customerCache.invalidate(customerId));
+    });
+  }
+
+  private Single<Customer> findCachedCustomer(String customerId) {
+    return Single.defer(() -> {
+      Customer cached = customerCache.getIfPresent(customerId);
+      if (cached != null) {
+        return Single.just(cached);
+      }
+      return customerLoads.single(customerId, () -> {
+        long stamp = customerCache.stamp(customerId);
+        return findCustomer(customerId).doOnSuccess(customer -> customerCache.put(customer, stamp));
+      }).map(Utilitarios::copyOf);
+    });
+  }
+
+  private Single<Customer> findCustomer(String customerId) {
+    return Maybe.fromPublisher(customerReactiveRepository.findById(customerId))
+        .switchIfEmpty(Single.error(() -> new ErrorResponseException(EX_NOT_FOUND_RECURSO,
+            HttpStatus.NOT_FOUND.value(), HttpStatus.NOT_FOUND)));
+  }
+
+
+}
@@ -0,0 +1,90 @@
+package org.nttdatabc.mscustomer.service;
+
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_ERROR_CURSOR;
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_ERROR_REQUEST;
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_SEARCH_CRITERIA;
+import static org.nttdatabc.mscustomer.utils.Constantes.SEARCH_DEFAULT_SIZE;
+import static org.nttdatabc.mscustomer.utils.Constantes.SEARCH_MAX_SIZE;
+import static org.nttdatabc.mscustomer.utils.Constantes.SEARCH_MIN_NAME_LENGTH;
+
+import java.util.List;
+import org.nttdatabc.mscustomer.model.Customer;
+import org.nttdatabc.mscustomer.model.CustomerPage;
+import org.nttdatabc.mscustomer.repository.CustomerSearch;
+import org.nttdatabc.mscustomer.utils.Utilitarios;
+import org.nttdatabc.mscustomer.utils.exceptions.errors.ErrorResponseException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Validación de los parámetros de GET /customer/search y armado de su página, compartido por los
+ * servicios bloqueante y reactivo. Al ordenar por nombre el cursor lleva fullnameSearch y _id.
+ */
+final class CustomerSearches {
+  private static final char CURSOR_SEPARATOR = '\n';
+
+  private CustomerSearches() {
+  }
+
+  /**
+   * Normaliza y valida los criterios; se exige al menos uno para no recorrer la colección.
+   *
+   * @param name   prefijo del nombre, puede ser null.
+   * @param email  email exacto, puede ser null.
+   * @param phone  teléfono exacto, puede ser null.
+   * @param limit  tamaño de página, acotado a SEARCH_MAX_SIZE.
+   * @param cursor cursor de la página anterior, puede ser null.
+   * @return la búsqueda para el repositorio, con limit igual al tamaño de página más uno.
+   * @throws ErrorResponseException si no hay criterios, el nombre es corto o el cursor no es válido.
+   */
+  static CustomerSearch of(String name, String email, String phone, Integer limit, String cursor)
+      throws ErrorResponseException {
+    String namePrefix = blankToNull(Utilitarios.normalizeSearch(name));
+    String exactEmail = blankToNull(email == null ? null : email.trim());
+    String exactPhone = blankToNull(phone == null ? null : phone.trim());
+    if (namePrefix == null && exactEmail == null && exactPhone == null
+        || namePrefix != null && namePrefix.length() < SEARCH_MIN_NAME_LENGTH) {
+      throw new ErrorResponseException(EX_SEARCH_CRITERIA, HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST);
+    }
+    int size = limit == null ? SEARCH_DEFAULT_SIZE : Math.min(limit, SEARCH_MAX_SIZE);
+    if (size < 1) {
+      throw new ErrorResponseException(EX_ERROR_REQUEST, HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST);
+    }
+    String position = Utilitarios.decodeCursor(cursor);
+    String lastName = null;
+    String lastId = position;
+    if (position != null && exactEmail == null && exactPhone == null) {
+      int separator = position.lastIndexOf(CURSOR_SEPARATOR);
+      if (separator < 0) {
+        throw new ErrorResponseException(EX_ERROR_CURSOR, HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST);
+      }
+      lastName = position.substring(0, separator);
+      lastId = position.substring(separator + 1);
+    }
+    return new CustomerSearch(namePrefix, exactEmail, exactPhone, lastName, lastId, size + 1);
+  }
+
+  /**
+   * Arma la página, si se leyó el documento extra del limit hay más resultados.
+   *
+   * @param customers resultados leídos (hasta limit).
+   * @param search    búsqueda que los obtuvo.
+   * @return la página con el cursor siguiente si corresponde.
+   */
+  static CustomerPage page(List<Customer> customers, CustomerSearch search) {
+    int size = search.getLimit() - 1;
+    if (customers.size() <= size) {
+      return new CustomerPage().items(customers);
+    }
+    Customer last = customers.get(size - 1);
+    String position = search.byName()
+        ? Utilitarios.normalizeSearch(last.getFullname()) + CURSOR_SEPARATOR + last.getId()
+        : last.getId();
+    return new CustomerPage()
+        .items(customers.subList(0, size))
+        .nextCursor(Utilitarios.encodeCursor(position));
+  }
+
+  private static String blankToNull(String value) {
+    return value == null || value.isEmpty() ? null : value;
+  }
+}
@@ -1,11 +1,20 @@
 package org.nttdatabc.mscustomer.service;
 
 import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import org.nttdatabc.mscustomer.model.AuthorizedSigner;
 import org.nttdatabc.mscustomer.model.Customer;
+import org.nttdatabc.mscustomer.model.CustomerBatchResult;
+import org.nttdatabc.mscustomer.model.CustomerLookupRequest;
+import org.nttdatabc.mscustomer.model.CustomerLookupResponse;
+import org.nttdatabc.mscustomer.model.CustomerPage;
+import org.nttdatabc.mscustomer.model.CustomerPatch;
+import org.nttdatabc.mscustomer.model.CustomerSummary;
+import org.nttdatabc.mscustomer.model.CustomerSummaryPage;
 import org.nttdatabc.mscustomer.utils.exceptions.errors.ErrorResponseException;
 
 
@@ -15,15 +24,40 @@ import org.nttdatabc.mscustomer.utils.exceptions.errors.ErrorResponseException;
 public interface CustomerService {
   Observable<List<Customer>> getAllCustomersService();
 
+  Single<CustomerPage> getCustomersPageService(Integer limit, String cursor) throws ErrorResponseException;
+
+  Single<CustomerSummaryPage> getCustomersSummaryPageService(Integer limit, String cursor) throws ErrorResponseException;
+
+  Single<CustomerPage> searchCustomersService(String name, String email, String phone, Integer limit, String cursor)
+      throws ErrorResponseException;
+
+  Flowable<Customer> streamAllCustomersService();
+
+  Flowable<CustomerSummary> streamAllCustomerSummariesService();
+
   Completable createCustomerService(Customer customer) throws ErrorResponseException;
 
+  Single<List<CustomerBatchResult>> createCustomersBatchService(List<Customer> customers) throws ErrorResponseException;
+
   Single<Customer> getCustomerByIdService(String customerId) throws ErrorResponseException;
 
+  Single<CustomerSummary> getCustomerSummaryByIdService(String customerId) throws ErrorResponseException;
+
+  Single<Long> getCustomerVersionService(String customerId) throws ErrorResponseException;
+
+  Maybe<String> getCollectionVersionService();
+
+  Single<CustomerLookupResponse> lookupCustomersService(CustomerLookupRequest request) throws ErrorResponseException;
+
   Completable updateCustomerService(Customer customer) throws ErrorResponseException;
 
+  Completable patchCustomerService(String customerId, CustomerPatch patch) throws ErrorResponseException;
+
   Completable deleteCustomerByIdService(String customerId) throws ErrorResponseException;
 
   Observable<List<AuthorizedSigner>> getAuthorizedSignersByCustomerIdService(String customerId) throws ErrorResponseException;
 
+  Single<CustomerSummaryPage> getCustomersBySignerDniService(String dni, Integer limit, String cursor) throws ErrorResponseException;
+
   Completable createAuthorizedSignersByCustomerId(String customerId, AuthorizedSigner authorizedSigner) throws ErrorResponseException;
 }
@@ -1,28 +1,51 @@
 package org.nttdatabc.mscustomer.service;
 
 
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_CONFLICT_VERSION;
 import static org.nttdatabc.mscustomer.utils.Constantes.EX_ERROR_PERSON_AUTH_SIGNER;
 import static org.nttdatabc.mscustomer.utils.Constantes.EX_NOT_FOUND_RECURSO;
-import static org.nttdatabc.mscustomer.utils.CustomerValidator.validateAuthorizedSignerEmpty;
-import static org.nttdatabc.mscustomer.utils.CustomerValidator.validateAuthorizedSignerNoNulls;
-import static org.nttdatabc.mscustomer.utils.CustomerValidator.validateAuthorizedSignerOnlyEmpresa;
-import static org.nttdatabc.mscustomer.utils.CustomerValidator.validateCustomerEmpty;
-import static org.nttdatabc.mscustomer.utils.CustomerValidator.validateCustomerNoNulls;
-import static org.nttdatabc.mscustomer.utils.CustomerValidator.validateUserNotRegistred;
-import static org.nttdatabc.mscustomer.utils.CustomerValidator.verifyTypePerson;
-import static org.nttdatabc.mscustomer.utils.Utilitarios.generateUuid;
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_USER_REGISTRED;
+import static org.nttdatabc.mscustomer.utils.CustomerValidator.validateAuthorizedSigner;
+import static org.nttdatabc.mscustomer.utils.CustomerValidator.validateCustomer;
+import static org.nttdatabc.mscustomer.utils.CustomerValidator.validateCustomerPatch;
+import static org.nttdatabc.mscustomer.utils.CustomerValidator.validateNewCustomer;
+import static org.nttdatabc.mscustomer.utils.Utilitarios.buildPage;
+import static org.nttdatabc.mscustomer.utils.Utilitarios.buildSummaryPage;
+import static org.nttdatabc.mscustomer.utils.Utilitarios.copyOf;
+import static org.nttdatabc.mscustomer.utils.Utilitarios.decodeCursor;
+import static org.nttdatabc.mscustomer.utils.Utilitarios.requireDni;
+import static org.nttdatabc.mscustomer.utils.Utilitarios.resolvePageSize;
+import static org.nttdatabc.mscustomer.utils.Utilitarios.toSummary;
+import static org.nttdatabc.mscustomer.utils.Utilitarios.versionOf;
 
 import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Single;
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.nttdatabc.mscustomer.model.AuthorizedSigner;
 import org.nttdatabc.mscustomer.model.Customer;
+import org.nttdatabc.mscustomer.model.CustomerBatchResult;
+import org.nttdatabc.mscustomer.model.CustomerLookupRequest;
+import org.nttdatabc.mscustomer.model.CustomerLookupResponse;
+import org.nttdatabc.mscustomer.model.CustomerPage;
+import org.nttdatabc.mscustomer.model.CustomerPatch;
+import org.nttdatabc.mscustomer.model.CustomerSummary;
+import org.nttdatabc.mscustomer.model.CustomerSummaryPage;
 import org.nttdatabc.mscustomer.repository.CustomerRepository;
+import org.nttdatabc.mscustomer.repository.CustomerSearch;
 import org.nttdatabc.mscustomer.utils.exceptions.errors.ErrorResponseException;
+import org.nttdatabc.mscustomer.utils.id.IdGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.util.CloseableIterator;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
@@ -31,58 +54,201 @@ import org.springframework.stereotype.Service;
  * Clase del CustomerServiceImpl.
  */
 @Service
+@ConditionalOnProperty(name = "mscustomer.data.mode", havingValue = "blocking", matchIfMissing = true)
 public class CustomerServiceImpl implements CustomerService {
   @Autowired
   private CustomerRepository customerRepository;
 
+  @Autowired
+  private CustomerCache customerCache;
+
+  @Autowired
+  private CustomerLoads customerLoads;
+
+  @Autowired
+  private CustomerIdentifierFilter identifierFilter;
+
+  @Autowired(required = false)
+  private CustomerBatchLoader customerBatchLoader;
+
+  // solo existe si el change stream mantiene la cache coherente entre instancias (si está al día)
+  @Autowired(required = false)
+  private CustomerChangeStreamListener changeStreamListener;
+
+  @Autowired
+  private IdGenerator idGenerator;
+
+  @Value("${mscustomer.batch.chunk-size:500}")
+  private int batchChunkSize;
+
   @Override
   public Observable<List<Customer>> getAllCustomersService() {
     return Observable.defer(() -> Observable.just(customerRepository.findAll()));
   }
 
+  @Override
+  public Single<CustomerPage> getCustomersPageService(Integer limit, String cursor) throws ErrorResponseException {
+    return Single.defer(() -> {
+      int size = resolvePageSize(limit);
+      List<Customer> customers = customerRepository.findPageAfter(decodeCursor(cursor), size + 1);
+      return Single.just(buildPage(customers, size));
+    });
+  }
+
+  @Override
+  public Single<CustomerSummaryPage> getCustomersSummaryPageService(Integer limit, String cursor) throws ErrorResponseException {
+    return Single.defer(() -> {
+      int size = resolvePageSize(limit);
+      List<CustomerSummary> summaries = customerRepository.findSummaryPageAfter(decodeCursor(cursor), size + 1);
+      return Single.just(buildSummaryPage(summaries, size));
+    });
+  }
+
+  @Override
+  public Single<CustomerPage> searchCustomersService(String name, String email, String phone, Integer limit, String cursor)
+      throws ErrorResponseException {
+    return Single.defer(() -> {
+      CustomerSearch search = CustomerSearches.of(name, email, phone, limit, cursor);
+      return Single.just(CustomerSearches.page(customerRepository.search(search), search));
+    });
+  }
+
+  @Override
+  public Flowable<Customer> streamAllCustomersService() {
+    return Flowable.using(customerRepository::streamAll,
+        iterator -> Flowable.fromIterable(() -> iterator),
+        CloseableIterator::close);
+  }
+
+  @Override
+  public Flowable<CustomerSummary> streamAllCustomerSummariesService() {
+    return Flowable.using(customerRepository::streamAllSummaries,
+        iterator -> Flowable.fromIterable(() -> iterator),
+        CloseableIterator::close);
+  }
+
   @Override
   public Completable createCustomerService(Customer customer) throws ErrorResponseException {
     return Completable.fromAction(() -> {
-      validateCustomerNoNulls(customer);
-      validateCustomerEmpty(customer);
-      verifyTypePerson(customer);
-      validateUserNotRegistred(customer.getIdentifier(), customerRepository);
-      validateAuthorizedSignerOnlyEmpresa(customer);
-
-      customer.setId(generateUuid());
-      customerRepository.save(customer);
+      validateNewCustomer(customer);
+
+      customer.setId(idGenerator.nextId());
+      customer.setVersion(0L);
+      try {
+        customerRepository.insert(customer);
+      } catch (DuplicateKeyException e) {
+        identifierFilter.add(customer.getIdentifier());
+        throw new ErrorResponseException(EX_USER_REGISTRED, HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST);
+      }
+      identifierFilter.add(customer.getIdentifier());
+    });
+  }
+
+  @Override
+  public Single<List<CustomerBatchResult>> createCustomersBatchService(List<Customer> customers) throws ErrorResponseException {
+    return Single.fromCallable(() -> {
+      CustomerBatch batch = CustomerBatch.of(customers);
+      Set<String> identifiers = identifierFilter.candidates(batch.pendingIdentifiers());
+      if (!identifiers.isEmpty()) {
+        Set<String> registered = customerRepository.findRegisteredIdentifiers(identifiers);
+        identifierFilter.recordProbe(identifiers.size(), registered.size());
+        batch.rejectRegistered(registered);
+      }
+      for (List<Integer> chunk : batch.chunks(batchChunkSize, idGenerator)) {
+        batch.applyInsert(chunk, customerRepository.insertUnordered(batch.customersOf(chunk)));
+      }
+      batch.createdIdentifiers().forEach(identifierFilter::add);
+      return batch.results();
     });
   }
 
   @Override
   public Single<Customer> getCustomerByIdService(String customerId) throws ErrorResponseException {
-    return Single.defer(() -> {
-      Optional<Customer> customerOpt = customerRepository.findById(customerId);
-      Customer customer = customerOpt.orElseThrow(() -> new ErrorResponseException(EX_NOT_FOUND_RECURSO,
-          HttpStatus.NOT_FOUND.value(), HttpStatus.NOT_FOUND));
-      return Single.just(customer);
+    return Single.fromCallable(() -> findCustomer(customerId));
+  }
+
+  @Override
+  public Single<CustomerSummary> getCustomerSummaryByIdService(String customerId) throws ErrorResponseException {
+    return Single.fromCallable(() -> {
+      Customer cached = customerCache.getIfPresent(customerId);
+      if (cached != null) {
+        return toSummary(cached);
+      }
+      return customerRepository.findSummaryById(customerId)
+          .orElseThrow(() -> new ErrorResponseException(EX_NOT_FOUND_RECURSO,
+              HttpStatus.NOT_FOUND.value(), HttpStatus.NOT_FOUND));
+    });
+  }
+
+  @Override
+  public Single<Long> getCustomerVersionService(String customerId) throws ErrorResponseException {
+    return Single.fromCallable(() -> {
+      // sin change stream al día la cache puede no haber visto escrituras de otra instancia
+      Customer cached = changeStreamListener == null || !changeStreamListener.isCaughtUp()
+          ? null : customerCache.getIfPresent(customerId);
+      if (cached != null) {
+        return versionOf(cached);
+      }
+      return customerRepository.findVersionById(customerId)
+          .orElseThrow(() -> new ErrorResponseException(EX_NOT_FOUND_RECURSO,
+              HttpStatus.NOT_FOUND.value(), HttpStatus.NOT_FOUND));
+    });
+  }
+
+  @Override
+  public Maybe<String> getCollectionVersionService() {
+    return Maybe.fromCallable(() -> changeStreamListener == null ? null : changeStreamListener.lastChange());
+  }
+
+  @Override
+  public Single<CustomerLookupResponse> lookupCustomersService(CustomerLookupRequest request) throws ErrorResponseException {
+    return Single.fromCallable(() -> {
+      CustomerLookup lookup = CustomerLookup.of(request);
+      for (String id : lookup.ids()) {
+        Customer cached = customerCache.getIfPresent(id);
+        if (cached != null) {
+          lookup.add(cached);
+        }
+      }
+      for (List<String> chunk : lookup.missingIdChunks()) {
+        Map<String, Long> stamps = stampsOf(chunk);
+        customerRepository.findAllById(chunk).forEach(customer -> {
+          lookup.add(customer);
+          customerCache.put(customer, stamps.get(customer.getId()));
+        });
+      }
+      for (List<String> chunk : lookup.missingIdentifierChunks()) {
+        customerRepository.findAllByIdentifierIn(chunk).forEach(lookup::add);
+      }
+      return lookup.response();
     });
   }
 
   @Override
   public Completable updateCustomerService(Customer customer) throws ErrorResponseException {
     return Completable.fromAction(() -> {
-      validateCustomerNoNulls(customer);
-      validateCustomerEmpty(customer);
-      verifyTypePerson(customer);
+      validateCustomer(customer);
       Optional<Customer> custFindByIdOptional = customerRepository.findById(customer.getId());
       if (custFindByIdOptional.isEmpty()) {
         throw new ErrorResponseException(EX_NOT_FOUND_RECURSO,
             HttpStatus.NOT_FOUND.value(), HttpStatus.NOT_FOUND);
       }
       Customer customerFound = custFindByIdOptional.get();
-      customerFound.setAddress(customer.getAddress());
-      customerFound.setBirthday(customer.getBirthday());
-      customerFound.setEmail(customer.getEmail());
-      customerFound.setFullname(customer.getFullname());
-      customerFound.setPhone(customer.getPhone());
-      customerFound.setAuthorizedSigners(customer.getAuthorizedSigners());
-      customerRepository.save(customerFound);
+      if (!customerRepository.replaceCustomer(customerFound.getId(), customer, versionOf(customerFound))) {
+        throw versionConflictError(customerRepository.existsById(customerFound.getId()));
+      }
+      customerCache.invalidate(customerFound.getId());
+    });
+  }
+
+  @Override
+  public Completable patchCustomerService(String customerId, CustomerPatch patch) throws ErrorResponseException {
+    return Completable.fromAction(() -> {
+      validateCustomerPatch(patch);
+      if (!customerRepository.patchCustomer(customerId, patch)) {
+        throw versionConflictError(customerRepository.existsById(customerId));
+      }
+      customerCache.invalidate(customerId);
     });
   }
 
@@ -95,44 +261,95 @@ public class CustomerServiceImpl implements CustomerService {
             HttpStatus.NOT_FOUND.value(), HttpStatus.NOT_FOUND);
       }
       customerRepository.delete(custFindByIdOptional.get());
+      identifierFilter.remove(custFindByIdOptional.get().getIdentifier());
+      customerCache.invalidate(customerId);
     });
   }
 
   @Override
   public Observable<List<AuthorizedSigner>> getAuthorizedSignersByCustomerIdService(String customerId) throws ErrorResponseException {
     return Observable.defer(() -> {
-      Optional<Customer> customer = customerRepository.findById(customerId);
-      if (customer.isEmpty()) {
-        throw new ErrorResponseException(EX_NOT_FOUND_RECURSO,
-            HttpStatus.NOT_FOUND.value(), HttpStatus.NOT_FOUND);
-      }
-      if (customer.get().getAuthorizedSigners() == null) {
+      Customer customer = findCustomer(customerId);
+      if (customer.getAuthorizedSigners() == null) {
         throw new ErrorResponseException(EX_ERROR_PERSON_AUTH_SIGNER,
             HttpStatus.CONFLICT.value(), HttpStatus.CONFLICT);
       }
-      return Observable.just(customer.get().getAuthorizedSigners());
+      return Observable.just(customer.getAuthorizedSigners());
+    });
+  }
+
+  @Override
+  public Single<CustomerSummaryPage> getCustomersBySignerDniService(String dni, Integer limit, String cursor) throws ErrorResponseException {
+    return Single.defer(() -> {
+      int size = resolvePageSize(limit);
+      List<CustomerSummary> summaries = customerRepository.findSummariesBySignerDni(requireDni(dni), decodeCursor(cursor), size + 1);
+      return Single.just(buildSummaryPage(summaries, size));
     });
   }
 
   @Override
   public Completable createAuthorizedSignersByCustomerId(String customerId, AuthorizedSigner authorizedSigner) throws ErrorResponseException {
     return Completable.fromAction(() -> {
-      validateAuthorizedSignerNoNulls(authorizedSigner);
-      validateAuthorizedSignerEmpty(authorizedSigner);
-      Optional<Customer> customer = customerRepository.findById(customerId);
-      if (customer.isEmpty()) {
-        throw new ErrorResponseException(EX_NOT_FOUND_RECURSO,
-            HttpStatus.NOT_FOUND.value(), HttpStatus.NOT_FOUND);
-      }
-      List<AuthorizedSigner> existingSigners = customer.get().getAuthorizedSigners();
-      if (existingSigners == null) {
-        existingSigners = new ArrayList<>();
-        customer.get().setAuthorizedSigners(existingSigners);
+      validateAuthorizedSigner(authorizedSigner);
+      if (!customerRepository.pushAuthorizedSigner(customerId, authorizedSigner)) {
+        throw signerTargetError(customerRepository.existsById(customerId));
       }
-      existingSigners.add(authorizedSigner);
-      customerRepository.save(customer.get());
+      customerCache.invalidate(customerId);
     });
   }
 
+  /**
+   * Error cuando el $push no encontró documento: 404 si no existe, 409 si es PERSONA.
+   *
+   * @param exists si el customer existe.
+   * @return el error a disparar.
+   */
+  static ErrorResponseException signerTargetError(boolean exists) {
+    return exists
+        ? new ErrorResponseException(EX_ERROR_PERSON_AUTH_SIGNER, HttpStatus.CONFLICT.value(), HttpStatus.CONFLICT)
+        : new ErrorResponseException(EX_NOT_FOUND_RECURSO, HttpStatus.NOT_FOUND.value(), HttpStatus.NOT_FOUND);
+  }
+
+  /**
+   * Error cuando el update por versión no encontró documento: 404 si no existe, 409 si cambió la versión.
+   *
+   * @param exists si el customer existe.
+   * @return el error a disparar.
+   */
+  static ErrorResponseException versionConflictError(boolean exists) {
+    return exists
+        ? new ErrorResponseException(EX_CONFLICT_VERSION, HttpStatus.CONFLICT.value(), HttpStatus.CONFLICT)
+        : new ErrorResponseException(EX_NOT_FOUND_RECURSO, HttpStatus.NOT_FOUND.value(), HttpStatus.NOT_FOUND);
+  }
+
+  private Customer findCustomer(String customerId) throws Exception {
+    Customer cached = customerCache.getIfPresent(customerId);
+    if (cached != null) {
+      return cached;
+    }
+    Customer loaded = customerLoads.execute(customerId, () -> {
+      long stamp = customerCache.stamp(customerId);
+      Customer customer = readCustomer(customerId)
+          .orElseThrow(() -> new ErrorResponseException(EX_NOT_FOUND_RECURSO,
+              HttpStatus.NOT_FOUND.value(), HttpStatus.NOT_FOUND));
+      customerCache.put(customer, stamp);
+      return customer;
+    });
+    return copyOf(loaded);
+  }
+
+  private Map<String, Long> stampsOf(List<String> customerIds) {
+    Map<String, Long> stamps = new HashMap<>();
+    customerIds.forEach(customerId -> stamps.put(customerId, customerCache.stamp(customerId)));
+    return stamps;
+  }
+
+  private Optional<Customer> readCustomer(String customerId) {
+    if (customerBatchLoader == null) {
+      return customerRepository.findById(customerId);
+    }
+    return Optional.ofNullable(customerBatchLoader.load(customerId).blockingGet());
+  }
+
 
 }
@@ -11,4 +11,20 @@ public class Constantes {
   public static final String EX_NOT_FOUND_RECURSO = "No existe el recurso";
   public static final String EX_USER_REGISTRED = "Este documento ya ha sido registrado.";
   public static final String EX_ERROR_PERSON_AUTH_SIGNER = "Persona no puede tener Singatarios";
+  public static final String EX_CONFLICT_VERSION = "El recurso fue modificado por otra operación";
+  public static final String EX_ERROR_CURSOR = "El cursor de paginación no es válido";
+  public static final String EX_BATCH_DUPLICATE = "Identificador repetido en el lote";
+  public static final String EX_BATCH_INSERT = "No se pudo registrar el cliente";
+  public static final String EX_SEARCH_CRITERIA = "Indique name (mínimo 3 caracteres), email o phone";
+  public static final String EX_BULKHEAD_FULL = "Servicio saturado, reintente en unos segundos";
+  public static final int PAGE_DEFAULT_SIZE = 50;
+  public static final int PAGE_MAX_SIZE = 500;
+  public static final int BATCH_MAX_SIZE = 5000;
+  public static final int LOOKUP_MAX_KEYS = 5000;
+  public static final int SEARCH_DEFAULT_SIZE = 20;
+  public static final int SEARCH_MAX_SIZE = 100;
+  public static final int SEARCH_MIN_NAME_LENGTH = 3;
+  public static final long SEARCH_MAX_TIME_MS = 2000;
+  public static final int LOOKUP_CHUNK_SIZE = 1000;
+  public static final int MONGO_DUPLICATE_KEY = 11000;
 }
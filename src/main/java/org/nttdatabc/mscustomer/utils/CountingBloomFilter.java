@@ -0,0 +1,155 @@
+package org.nttdatabc.mscustomer.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom con contadores de 4 bits (16 por long), para poder quitar claves además de
+ * agregarlas. Un "no" es definitivo salvo que se haya quitado una clave que nunca se agregó; un
+ * "quizás" puede ser falso positivo con la probabilidad de expectedFpp().
+ * Los contadores se actualizan con CAS, sin locks; uno que llega a 15 queda saturado y no se
+ * decrementa más, para no producir falsos negativos.
+ */
+public class CountingBloomFilter {
+  private static final int COUNTER_BITS = 4;
+  private static final int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+  private static final long COUNTER_MAX = (1L << COUNTER_BITS) - 1;
+
+  private final AtomicLongArray words;
+  private final long counters;
+  private final int hashes;
+
+  /**
+   * Dimensiona el filtro para la cantidad esperada de claves y la tasa de falsos positivos.
+   *
+   * @param expectedInsertions cantidad de claves esperada.
+   * @param fpp                probabilidad de falso positivo buscada con esa cantidad, entre 0 y 1.
+   */
+  public CountingBloomFilter(long expectedInsertions, double fpp) {
+    if (expectedInsertions < 1 || fpp <= 0 || fpp >= 1) {
+      throw new IllegalArgumentException("expectedInsertions >= 1 and 0 < fpp < 1");
+    }
+    long size = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+    long wordCount = (size + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD;
+    if (wordCount > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("filter too large: " + size + " counters");
+    }
+    this.words = new AtomicLongArray((int) wordCount);
+    this.counters = wordCount * COUNTERS_PER_WORD;
+    this.hashes = Math.max(1, (int) Math.round((double) counters / expectedInsertions * Math.log(2)));
+  }
+
+  /**
+   * Agrega una clave incrementando sus contadores; los saturados quedan como están.
+   *
+   * @param key clave a agregar.
+   */
+  public void add(String key) {
+    long hash = hash(key);
+    for (int i = 0; i < hashes; i++) {
+      update(index(hash, i), 1);
+    }
+  }
+
+  /**
+   * Quita una clave; si el filtro ya dice que no está no toca ningún contador.
+   *
+   * @param key clave agregada antes.
+   */
+  public void remove(String key) {
+    if (!mightContain(key)) {
+      return;
+    }
+    long hash = hash(key);
+    for (int i = 0; i < hashes; i++) {
+      update(index(hash, i), -1);
+    }
+  }
+
+  /**
+   * Consulta el filtro.
+   *
+   * @param key clave a buscar.
+   * @return false si la clave seguro no está, true si puede estar.
+   */
+  public boolean mightContain(String key) {
+    long hash = hash(key);
+    for (int i = 0; i < hashes; i++) {
+      long index = index(hash, i);
+      if (counter(words.get(word(index)), index) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Probabilidad de falso positivo con la cantidad de claves dada: (1 - e^(-k·n/m))^k.
+   *
+   * @param keys claves contenidas.
+   * @return probabilidad entre 0 y 1.
+   */
+  public double expectedFpp(long keys) {
+    return Math.pow(1 - Math.exp(-(double) hashes * keys / counters), hashes);
+  }
+
+  public long memoryBytes() {
+    return (long) words.length() * Long.BYTES;
+  }
+
+  public int hashes() {
+    return hashes;
+  }
+
+  private void update(long index, int delta) {
+    int word = word(index);
+    int shift = shift(index);
+    while (true) {
+      long current = words.get(word);
+      long value = counter(current, index);
+      if (value == COUNTER_MAX || delta < 0 && value == 0) {
+        return;
+      }
+      long next = current + ((long) delta << shift);
+      if (words.compareAndSet(word, current, next)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Doble hashing (Kirsch-Mitzenmacher) sobre las dos mitades de un hash de 64 bits.
+   */
+  private long index(long hash, int i) {
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    return Integer.toUnsignedLong(h1 + i * h2) % counters;
+  }
+
+  private static int word(long index) {
+    return (int) (index / COUNTERS_PER_WORD);
+  }
+
+  private static int shift(long index) {
+    return (int) (index % COUNTERS_PER_WORD) * COUNTER_BITS;
+  }
+
+  private static long counter(long word, long index) {
+    return word >>> shift(index) & COUNTER_MAX;
+  }
+
+  /**
+   * FNV-1a sobre los caracteres con el mezclado final de MurmurHash3.
+   */
+  private static long hash(String key) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < key.length(); i++) {
+      hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -0,0 +1,131 @@
+package org.nttdatabc.mscustomer.utils;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.reactivex.rxjava3.core.Single;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa las lecturas concurrentes de una misma clave: la primera ejecuta la carga y las que llegan
+ * mientras está en curso reciben su mismo resultado o error, sin otra lectura.
+ * Las cargas en curso viven en un ConcurrentHashMap (bloqueo por bin, sin lock global) y se quitan
+ * al terminar, no es una cache. Publica customer.singleflight.loads y .coalesced con tag name.
+ *
+ * @param <K> tipo de la clave.
+ * @param <V> tipo del valor cargado.
+ */
+public class SingleFlight<K, V> implements MeterBinder {
+  public static final String LOADS_COUNTER = "customer.singleflight.loads";
+  public static final String COALESCED_COUNTER = "customer.singleflight.coalesced";
+
+  private final String name;
+  private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final LongAdder loads = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+
+  /**
+   * Constructor.
+   *
+   * @param name valor del tag name de las métricas.
+   */
+  public SingleFlight(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Carga bloqueante: ejecuta loader en el hilo que llama o espera la carga en curso de la clave.
+   *
+   * @param key    clave.
+   * @param loader lectura a compartir.
+   * @return el valor cargado.
+   * @throws Exception el error de la carga, el mismo para todos los que esperaban.
+   */
+  public V execute(K key, Callable<V> loader) throws Exception {
+    CompletableFuture<V> pending = new CompletableFuture<>();
+    CompletableFuture<V> current = inFlight.putIfAbsent(key, pending);
+    if (current != null) {
+      coalesced.increment();
+      return await(current);
+    }
+    loads.increment();
+    try {
+      V value = loader.call();
+      pending.complete(value);
+      return value;
+    } catch (Exception | Error e) {
+      pending.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, pending);
+    }
+  }
+
+  /**
+   * Carga reactiva: la primera suscripción se suscribe a loader y las demás esperan su resultado.
+   * La carga no se cancela si el que la inició se desuscribe, porque otros pueden estar esperándola.
+   * Si loader lanza en lugar de devolver el Single, ese error es el resultado de la carga.
+   *
+   * @param key    clave.
+   * @param loader lectura a compartir, se pide solo si no hay una en curso.
+   * @return Single con el valor o el error de la carga.
+   */
+  public Single<V> single(K key, Supplier<Single<V>> loader) {
+    return Single.defer(() -> {
+      CompletableFuture<V> pending = new CompletableFuture<>();
+      CompletableFuture<V> current = inFlight.putIfAbsent(key, pending);
+      if (current != null) {
+        coalesced.increment();
+        return Single.fromCompletionStage(current);
+      }
+      loads.increment();
+      pending.whenComplete((value, error) -> inFlight.remove(key, pending));
+      try {
+        loader.get().subscribe(pending::complete, pending::completeExceptionally);
+      } catch (RuntimeException | Error e) {
+        // si el loader falla antes de dar el Single, la clave no puede quedar esperando para siempre
+        pending.completeExceptionally(e);
+        inFlight.remove(key, pending);
+      }
+      return Single.fromCompletionStage(pending);
+    });
+  }
+
+  public long loads() {
+    return loads.sum();
+  }
+
+  public long coalesced() {
+    return coalesced.sum();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder(LOADS_COUNTER, loads, LongAdder::sum)
+        .description("Lecturas ejecutadas")
+        .tag("name", name)
+        .register(registry);
+    FunctionCounter.builder(COALESCED_COUNTER, coalesced, LongAdder::sum)
+        .description("Lecturas resueltas con la carga en curso de otra llamada")
+        .tag("name", name)
+        .register(registry);
+  }
+
+  private static <V> V await(CompletableFuture<V> current) throws Exception {
+    try {
+      return current.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw (Exception) cause;
+    }
+  }
+}
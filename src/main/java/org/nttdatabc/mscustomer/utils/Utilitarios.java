@@ -1,14 +1,193 @@
 package org.nttdatabc.mscustomer.utils;
 
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_ERROR_CURSOR;
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_ERROR_REQUEST;
+import static org.nttdatabc.mscustomer.utils.Constantes.PAGE_DEFAULT_SIZE;
+import static org.nttdatabc.mscustomer.utils.Constantes.PAGE_MAX_SIZE;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import org.nttdatabc.mscustomer.model.AuthorizedSigner;
+import org.nttdatabc.mscustomer.model.Customer;
+import org.nttdatabc.mscustomer.model.CustomerPage;
+import org.nttdatabc.mscustomer.model.CustomerSummary;
+import org.nttdatabc.mscustomer.model.CustomerSummaryPage;
+import org.nttdatabc.mscustomer.utils.exceptions.errors.ErrorResponseException;
+import org.springframework.http.HttpStatus;
 
 /**
  * Clase de utilitarios.
  */
 public class Utilitarios {
+  private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+  private static final Pattern SPACES = Pattern.compile("\\s+");
+
   public static String generateUuid() {
     return UUID.randomUUID().toString().replace("-", "");
   }
 
+  /**
+   * Genera el cursor opaco a partir del último _id de la página.
+   *
+   * @param lastId último _id devuelto.
+   * @return cursor en base64 url.
+   */
+  public static String encodeCursor(String lastId) {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(lastId.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Obtiene el _id contenido en el cursor.
+   *
+   * @param cursor cursor recibido, puede ser null.
+   * @return el _id o null si no hay cursor.
+   * @throws ErrorResponseException si el cursor no es válido.
+   */
+  public static String decodeCursor(String cursor) throws ErrorResponseException {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    try {
+      return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw new ErrorResponseException(EX_ERROR_CURSOR, HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST);
+    }
+  }
+
+  /**
+   * Resuelve el tamaño de página solicitado, acotado a PAGE_MAX_SIZE.
+   *
+   * @param limit tamaño solicitado, puede ser null.
+   * @return tamaño de página.
+   * @throws ErrorResponseException si el tamaño es menor a 1.
+   */
+  public static int resolvePageSize(Integer limit) throws ErrorResponseException {
+    int size = limit == null ? PAGE_DEFAULT_SIZE : Math.min(limit, PAGE_MAX_SIZE);
+    if (size < 1) {
+      throw new ErrorResponseException(EX_ERROR_REQUEST, HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST);
+    }
+    return size;
+  }
+
+  /**
+   * Valida el dni de la búsqueda inversa de signatarios.
+   *
+   * @param dni dni recibido en la ruta.
+   * @return el dni sin espacios alrededor.
+   * @throws ErrorResponseException si viene vacío.
+   */
+  public static String requireDni(String dni) throws ErrorResponseException {
+    if (dni == null || dni.isBlank()) {
+      throw new ErrorResponseException(EX_ERROR_REQUEST, HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST);
+    }
+    return dni.trim();
+  }
+
+  /**
+   * Arma la página a partir de size + 1 resultados, el extra indica que hay más.
+   *
+   * @param customers resultados leídos (hasta size + 1).
+   * @param size      tamaño de página.
+   * @return la página con el cursor siguiente si corresponde.
+   */
+  public static CustomerPage buildPage(List<Customer> customers, int size) {
+    return new CustomerPage()
+        .items(customers.size() > size ? customers.subList(0, size) : customers)
+        .nextCursor(nextCursor(customers, size, Customer::getId));
+  }
+
+  /**
+   * Arma la página de resúmenes a partir de size + 1 resultados, el extra indica que hay más.
+   *
+   * @param summaries resultados leídos (hasta size + 1).
+   * @param size      tamaño de página.
+   * @return la página con el cursor siguiente si corresponde.
+   */
+  public static CustomerSummaryPage buildSummaryPage(List<CustomerSummary> summaries, int size) {
+    return new CustomerSummaryPage()
+        .items(summaries.size() > size ? summaries.subList(0, size) : summaries)
+        .nextCursor(nextCursor(summaries, size, CustomerSummary::getId));
+  }
+
+  /**
+   * Versión de un customer, los guardados antes de versionar valen 0.
+   *
+   * @param customer el customer.
+   * @return la versión.
+   */
+  public static long versionOf(Customer customer) {
+    return customer.getVersion() == null ? 0L : customer.getVersion();
+  }
+
+  /**
+   * Copia el customer y sus signatarios, para no compartir la instancia de la cache.
+   *
+   * @param customer el customer.
+   * @return una copia independiente.
+   */
+  public static Customer copyOf(Customer customer) {
+    List<AuthorizedSigner> signers = null;
+    if (customer.getAuthorizedSigners() != null) {
+      signers = new ArrayList<>(customer.getAuthorizedSigners().size());
+      for (AuthorizedSigner signer : customer.getAuthorizedSigners()) {
+        signers.add(signer == null ? null : new AuthorizedSigner()
+            .dni(signer.getDni())
+            .fullname(signer.getFullname())
+            .cargo(signer.getCargo()));
+      }
+    }
+    return new Customer()
+        .id(customer.getId())
+        .identifier(customer.getIdentifier())
+        .fullname(customer.getFullname())
+        .type(customer.getType())
+        .address(customer.getAddress())
+        .phone(customer.getPhone())
+        .email(customer.getEmail())
+        .birthday(customer.getBirthday())
+        .authorizedSigners(signers)
+        .version(customer.getVersion());
+  }
+
+  /**
+   * Obtiene la vista resumida de un customer completo.
+   *
+   * @param customer el customer.
+   * @return el resumen.
+   */
+  public static CustomerSummary toSummary(Customer customer) {
+    return new CustomerSummary()
+        .id(customer.getId())
+        .identifier(customer.getIdentifier())
+        .type(customer.getType())
+        .fullname(customer.getFullname());
+  }
+
+  /**
+   * Normaliza un texto para búsqueda por prefijo: sin tildes, en minúsculas y con un solo espacio
+   * entre palabras. Es el valor que se guarda en fullnameSearch y el que se compara al buscar.
+   *
+   * @param text texto original, puede ser null.
+   * @return texto normalizado, null si no hay texto.
+   */
+  public static String normalizeSearch(String text) {
+    if (text == null) {
+      return null;
+    }
+    String withoutMarks = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+    return SPACES.matcher(withoutMarks.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+  }
+
+  private static <T> String nextCursor(List<T> items, int size, Function<T, String> idOf) {
+    return items.size() > size ? encodeCursor(idOf.apply(items.get(size - 1))) : null;
+  }
 
 }
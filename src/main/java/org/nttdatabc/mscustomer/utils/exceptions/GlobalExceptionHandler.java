@@ -1,16 +1,71 @@
 package org.nttdatabc.mscustomer.utils.exceptions;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.PostConstruct;
+import org.nttdatabc.mscustomer.utils.Constantes;
 import org.nttdatabc.mscustomer.utils.exceptions.dto.ErrorDto;
+import org.nttdatabc.mscustomer.utils.exceptions.dto.RenderedError;
 import org.nttdatabc.mscustomer.utils.exceptions.errors.ErrorResponseException;
+import org.nttdatabc.mscustomer.utils.validation.CustomerRules;
+import org.nttdatabc.mscustomer.utils.validation.Violation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 /**
  * Clase Global.
+ * Los errores con mensaje fijo de Constantes, sin details o con el único detail de una violación
+ * de CustomerRules, se responden con el cuerpo serializado al iniciar en JSON y en Smile
+ * (RenderedError); el resto, como los 400 con varias violaciones, arma el ErrorDto.
+ * Todo 429 agrega Retry-After.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+  private static final List<HttpStatus> PRE_RENDERED_STATUS = List.of(
+      HttpStatus.BAD_REQUEST, HttpStatus.NOT_FOUND, HttpStatus.CONFLICT, HttpStatus.TOO_MANY_REQUESTS);
+  private static final String RETRY_AFTER_SECONDS = "1";
+
+  private final Map<HttpStatus, Map<String, RenderedError>> preRendered = new EnumMap<>(HttpStatus.class);
+  private final ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.smile().build();
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  /**
+   * Serializa una vez el cuerpo de cada mensaje EX_* de Constantes para los status habituales, y
+   * para el 400 el de cada violación de CustomerRules sola.
+   *
+   * @throws JsonProcessingException si no se puede serializar el ErrorDto.
+   */
+  @PostConstruct
+  public void preRender() throws JsonProcessingException {
+    for (HttpStatus httpStatus : PRE_RENDERED_STATUS) {
+      Map<String, RenderedError> bodies = new HashMap<>();
+      for (String message : fixedMessages()) {
+        bodies.put(message, render(httpStatus, message, null));
+      }
+      if (httpStatus == HttpStatus.BAD_REQUEST) {
+        for (Violation violation : CustomerRules.allViolations()) {
+          bodies.put(key(violation.getMessage(), violation.getDetail()),
+              render(httpStatus, violation.getMessage(), List.of(violation.getDetail())));
+        }
+      }
+      preRendered.put(httpStatus, bodies);
+    }
+  }
+
   /**
    * Metodo formado.
    *
@@ -18,14 +73,67 @@ public class GlobalExceptionHandler {
    * @return el objeto de error formado.
    */
   @ExceptionHandler(value = ErrorResponseException.class)
-  public ResponseEntity<ErrorDto> handleCustomException(ErrorResponseException e) {
+  public ResponseEntity<?> handleCustomException(ErrorResponseException e) {
+    ResponseEntity.BodyBuilder response = ResponseEntity.status(e.getHttpStatus());
+    if (e.getHttpStatus() == HttpStatus.TOO_MANY_REQUESTS) {
+      response.header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+    }
+    RenderedError body = preRenderedBody(e);
+    if (body != null) {
+      return response.body(body);
+    }
 
     ErrorDto error = ErrorDto.builder()
         .httpStatus(e.getHttpStatus())
         .message(e.getMessage())
         .code(e.getStatus())
+        .details(e.getDetails())
+        .build();
+    return response.body(error);
+
+  }
+
+  private RenderedError preRenderedBody(ErrorResponseException e) {
+    if (e.getHttpStatus() == null || e.getStatus() != e.getHttpStatus().value()) {
+      return null;
+    }
+    Map<String, RenderedError> bodies = preRendered.get(e.getHttpStatus());
+    if (bodies == null) {
+      return null;
+    }
+    List<String> details = e.getDetails();
+    if (details == null || details.isEmpty()) {
+      return bodies.get(e.getMessage());
+    }
+    return details.size() == 1 ? bodies.get(key(e.getMessage(), details.get(0))) : null;
+  }
+
+  private RenderedError render(HttpStatus httpStatus, String message, List<String> details) throws JsonProcessingException {
+    ErrorDto error = ErrorDto.builder()
+        .httpStatus(httpStatus)
+        .message(message)
+        .code(httpStatus.value())
+        .details(details)
         .build();
-    return new ResponseEntity<ErrorDto>(error, e.getHttpStatus());
+    return new RenderedError(objectMapper.writeValueAsBytes(error), smileMapper.writeValueAsBytes(error));
+  }
+
+  private static String key(String message, String detail) {
+    return message + '\n' + detail;
+  }
 
+  private static List<String> fixedMessages() {
+    List<String> messages = new ArrayList<>();
+    for (Field field : Constantes.class.getFields()) {
+      if (field.getName().startsWith("EX_") && field.getType() == String.class
+          && Modifier.isStatic(field.getModifiers())) {
+        try {
+          messages.add((String) field.get(null));
+        } catch (IllegalAccessException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+    }
+    return messages;
   }
 }
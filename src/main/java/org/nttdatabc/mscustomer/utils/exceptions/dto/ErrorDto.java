@@ -1,6 +1,8 @@
 package org.nttdatabc.mscustomer.utils.exceptions.dto;
 
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -20,4 +22,6 @@ public class ErrorDto {
   private HttpStatus httpStatus;
   private String message;
   private int code;
+  @JsonInclude(JsonInclude.Include.NON_EMPTY)
+  private List<String> details;
 }
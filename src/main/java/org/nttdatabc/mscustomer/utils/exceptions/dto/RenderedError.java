@@ -0,0 +1,35 @@
+package org.nttdatabc.mscustomer.utils.exceptions.dto;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Cuerpo de error ya serializado en JSON y en Smile. Lo escribe el converter (servlet) o el encoder
+ * (reactive) con los bytes del formato negociado, sin volver a serializar el ErrorDto.
+ */
+public final class RenderedError {
+  public static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+  private final byte[] json;
+  private final byte[] smile;
+
+  /**
+   * Constructor.
+   *
+   * @param json  ErrorDto serializado en JSON.
+   * @param smile el mismo ErrorDto serializado en Smile.
+   */
+  public RenderedError(byte[] json, byte[] smile) {
+    this.json = json;
+    this.smile = smile;
+  }
+
+  /**
+   * Bytes del cuerpo para el content type elegido en la negociación.
+   *
+   * @param mediaType content type de la respuesta, puede ser null.
+   * @return Smile si se negoció Smile, JSON en otro caso.
+   */
+  public byte[] bytesFor(MediaType mediaType) {
+    return mediaType != null && APPLICATION_SMILE.isCompatibleWith(mediaType) ? smile : json;
+  }
+}
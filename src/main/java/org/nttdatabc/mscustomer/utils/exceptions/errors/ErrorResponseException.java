@@ -1,15 +1,18 @@
 package org.nttdatabc.mscustomer.utils.exceptions.errors;
 
+import java.util.List;
 import lombok.Data;
 import org.springframework.http.HttpStatus;
 
 /**
  * Clase del ErrorException.
+ * Es un error de negocio esperado (400, 404, 409...), por eso no captura stack trace ni suprimidas.
  */
 @Data
 public class ErrorResponseException extends Exception {
   HttpStatus httpStatus;
   int status;
+  List<String> details;
 
   /**
    * Constructor.
@@ -19,8 +22,21 @@ public class ErrorResponseException extends Exception {
    * @param httpStatus el http status.
    */
   public ErrorResponseException(String messaage, int status, HttpStatus httpStatus) {
-    super(messaage);
+    super(messaage, null, false, false);
     this.httpStatus = httpStatus;
     this.status = status;
   }
+
+  /**
+   * Constructor con el detalle de cada campo inválido.
+   *
+   * @param messaage   mensaje que contendrá.
+   * @param status     el código del statuts.
+   * @param httpStatus el http status.
+   * @param details    detalle de cada violación.
+   */
+  public ErrorResponseException(String messaage, int status, HttpStatus httpStatus, List<String> details) {
+    this(messaage, status, httpStatus);
+    this.details = details;
+  }
 }
@@ -0,0 +1,15 @@
+package org.nttdatabc.mscustomer.utils.id;
+
+/**
+ * Estrategia para generar el _id de un Customer nuevo, se elige con mscustomer.id.strategy.
+ */
+public interface IdGenerator {
+  String STRATEGY_PROPERTY = "mscustomer.id.strategy";
+
+  /**
+   * Genera un _id nuevo.
+   *
+   * @return el _id.
+   */
+  String nextId();
+}
@@ -0,0 +1,59 @@
+package org.nttdatabc.mscustomer.utils.id;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * _id ordenado por tiempo al estilo ULID: 26 caracteres Crockford base32, 10 con los 48 bits de
+ * milisegundos, 8 con 40 bits aleatorios por instancia y 8 con la secuencia de 16 bits (los 24 bits
+ * altos de ese campo quedan en cero). Los inserts caen al final del índice de _id en lugar de
+ * dispersarse.
+ * Milisegundo y secuencia salen de un único long (milisegundo * 2^16 + secuencia) que avanza con
+ * CAS, así dentro de una instancia cada _id es mayor que los entregados antes, también entre hilos.
+ * Si en un milisegundo se piden más de 65536 _id la secuencia desborda al milisegundo siguiente:
+ * el _id se adelanta un poco al reloj pero nunca se repite ni retrocede.
+ * Se guarda como String igual que los UUID existentes, así ambos conviven en el orden de _id;
+ * no usa el formato hex de ObjectId porque Spring Data lo convertiría a ObjectId y mezclaría tipos.
+ */
+@Component
+@ConditionalOnProperty(name = IdGenerator.STRATEGY_PROPERTY, havingValue = "time-ordered", matchIfMissing = true)
+public class TimeOrderedIdGenerator implements IdGenerator {
+  private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+  private static final int TIME_CHARS = 10;
+  private static final int NODE_CHARS = 8;
+  private static final int SEQUENCE_CHARS = 8;
+  private static final int LENGTH = TIME_CHARS + NODE_CHARS + SEQUENCE_CHARS;
+  private static final long MASK_40 = (1L << 40) - 1;
+  private static final int SEQUENCE_BITS = 16;
+  private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+  private final long node;
+  private final AtomicLong state = new AtomicLong();
+
+  /**
+   * Constructor, el nodo es aleatorio para cada instancia.
+   */
+  public TimeOrderedIdGenerator() {
+    this.node = new SecureRandom().nextLong() & MASK_40;
+  }
+
+  @Override
+  public String nextId() {
+    long now = System.currentTimeMillis() << SEQUENCE_BITS;
+    long current = state.accumulateAndGet(now, (previous, clock) -> Math.max(previous + 1, clock));
+    char[] id = new char[LENGTH];
+    encode(id, 0, TIME_CHARS, current >>> SEQUENCE_BITS);
+    encode(id, TIME_CHARS, NODE_CHARS, node);
+    encode(id, TIME_CHARS + NODE_CHARS, SEQUENCE_CHARS, current & SEQUENCE_MASK);
+    return new String(id);
+  }
+
+  private static void encode(char[] target, int offset, int length, long value) {
+    for (int i = offset + length - 1; i >= offset; i--) {
+      target[i] = ALPHABET[(int) (value & 31)];
+      value >>>= 5;
+    }
+  }
+}
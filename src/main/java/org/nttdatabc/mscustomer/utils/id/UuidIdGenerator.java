@@ -0,0 +1,17 @@
+package org.nttdatabc.mscustomer.utils.id;
+
+import org.nttdatabc.mscustomer.utils.Utilitarios;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * _id aleatorio UUIDv4 en hex (32 caracteres), el formato que se usó hasta ahora.
+ */
+@Component
+@ConditionalOnProperty(name = IdGenerator.STRATEGY_PROPERTY, havingValue = "uuid")
+public class UuidIdGenerator implements IdGenerator {
+  @Override
+  public String nextId() {
+    return Utilitarios.generateUuid();
+  }
+}
@@ -0,0 +1,153 @@
+package org.nttdatabc.mscustomer.utils.validation;
+
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_ERROR_PERSON_AUTH_SIGNER;
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_ERROR_REQUEST;
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_ERROR_TYPE_PERSONA;
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_VALUE_EMPTY;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.nttdatabc.mscustomer.model.AuthorizedSigner;
+import org.nttdatabc.mscustomer.model.Customer;
+import org.nttdatabc.mscustomer.model.TypeCustomer;
+import org.nttdatabc.mscustomer.utils.exceptions.errors.ErrorResponseException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Reglas del Customer y del AuthorizedSigner evaluadas en una sola pasada.
+ * Cada regla es un bit: check devuelve la máscara de reglas incumplidas (0 si todo cumple, sin crear
+ * objetos) y las violaciones ya vienen armadas en una tabla indexada por bit.
+ */
+public final class CustomerRules {
+  private static final int PRIORITY_REQUIRED = 0;
+  private static final int PRIORITY_EMPTY = 1;
+  private static final int PRIORITY_TYPE = 2;
+  private static final int PRIORITY_SIGNERS = 3;
+
+  private static final String PERSONA = TypeCustomer.PERSONA.name();
+  private static final String EMPRESA = TypeCustomer.EMPRESA.name();
+
+  private static final String[] CUSTOMER_FIELDS = {
+      "identifier", "fullname", "type", "address", "phone", "email", "birthday"};
+  private static final String[] SIGNER_FIELDS = {"cargo", "fullname", "dni"};
+
+  private static final int TYPE_BIT = CUSTOMER_FIELDS.length * 2;
+  private static final int SIGNERS_BIT = TYPE_BIT + 1;
+
+  private static final Violation[] CUSTOMER_VIOLATIONS = customerViolations();
+  private static final Violation[] SIGNER_VIOLATIONS = fieldViolations(SIGNER_FIELDS, 0);
+
+  private CustomerRules() {
+  }
+
+  /**
+   * Evalúa las reglas del customer.
+   *
+   * @param customer customer a validar.
+   * @param isNew    en el alta además PERSONA no puede traer signatarios.
+   * @return máscara de reglas incumplidas, 0 si cumple todas.
+   */
+  public static long check(Customer customer, boolean isNew) {
+    long mask = text(customer.getIdentifier(), 0)
+        | text(customer.getFullname(), 1)
+        | text(customer.getType(), 2)
+        | text(customer.getAddress(), 3)
+        | text(customer.getPhone(), 4)
+        | text(customer.getEmail(), 5)
+        | text(customer.getBirthday(), 6);
+    String type = customer.getType();
+    if (type != null && !type.isBlank() && !PERSONA.equalsIgnoreCase(type) && !EMPRESA.equalsIgnoreCase(type)) {
+      mask |= 1L << TYPE_BIT;
+    }
+    if (isNew && PERSONA.equalsIgnoreCase(type) && customer.getAuthorizedSigners() != null) {
+      mask |= 1L << SIGNERS_BIT;
+    }
+    return mask;
+  }
+
+  /**
+   * Evalúa las reglas del signatario.
+   *
+   * @param authorizedSigner signatario a validar.
+   * @return máscara de reglas incumplidas, 0 si cumple todas.
+   */
+  public static long check(AuthorizedSigner authorizedSigner) {
+    return text(authorizedSigner.getCargo(), 0)
+        | text(authorizedSigner.getFullname(), 1)
+        | text(authorizedSigner.getDni(), 2);
+  }
+
+  public static List<Violation> customerViolations(long mask) {
+    return violations(mask, CUSTOMER_VIOLATIONS);
+  }
+
+  private static Violation[] customerViolations() {
+    Violation[] table = fieldViolations(CUSTOMER_FIELDS, 2);
+    table[TYPE_BIT] = Violation.of(PRIORITY_TYPE, EX_ERROR_TYPE_PERSONA,
+        "type: debe ser " + PERSONA + " o " + EMPRESA);
+    table[SIGNERS_BIT] = Violation.of(PRIORITY_SIGNERS, EX_ERROR_PERSON_AUTH_SIGNER,
+        "authorizedSigners: " + PERSONA + " no puede tener signatarios");
+    return table;
+  }
+
+  public static List<Violation> signerViolations(long mask) {
+    return violations(mask, SIGNER_VIOLATIONS);
+  }
+
+  /**
+   * Todas las violaciones posibles, para serializar de antemano sus respuestas.
+   *
+   * @return violaciones del customer y del signatario.
+   */
+  public static List<Violation> allViolations() {
+    List<Violation> all = new ArrayList<>(List.of(CUSTOMER_VIOLATIONS));
+    all.addAll(List.of(SIGNER_VIOLATIONS));
+    return all;
+  }
+
+  /**
+   * Arma el error 400: el mensaje es el de la violación de menor prioridad y los detalles son todos.
+   *
+   * @param violations violaciones encontradas, al menos una.
+   * @return el error.
+   */
+  public static ErrorResponseException toException(List<Violation> violations) {
+    Violation first = violations.get(0);
+    List<String> details = new ArrayList<>(violations.size());
+    for (Violation violation : violations) {
+      if (violation.getPriority() < first.getPriority()) {
+        first = violation;
+      }
+      details.add(violation.getDetail());
+    }
+    return new ErrorResponseException(first.getMessage(), HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST, details);
+  }
+
+  private static long text(String value, int field) {
+    if (value == null) {
+      return 1L << (field * 2);
+    }
+    return value.isBlank() ? 1L << (field * 2 + 1) : 0L;
+  }
+
+  private static List<Violation> violations(long mask, Violation[] table) {
+    if (mask == 0L) {
+      return Collections.emptyList();
+    }
+    List<Violation> violations = new ArrayList<>(Long.bitCount(mask));
+    for (long pending = mask; pending != 0L; pending &= pending - 1) {
+      violations.add(table[Long.numberOfTrailingZeros(pending)]);
+    }
+    return violations;
+  }
+
+  private static Violation[] fieldViolations(String[] fields, int extraRules) {
+    Violation[] table = new Violation[fields.length * 2 + extraRules];
+    for (int i = 0; i < fields.length; i++) {
+      table[i * 2] = Violation.of(PRIORITY_REQUIRED, EX_ERROR_REQUEST, fields[i] + ": es obligatorio");
+      table[i * 2 + 1] = Violation.of(PRIORITY_EMPTY, EX_VALUE_EMPTY, fields[i] + ": no puede estar vacío");
+    }
+    return table;
+  }
+}
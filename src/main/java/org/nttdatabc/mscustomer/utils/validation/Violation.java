@@ -0,0 +1,41 @@
+package org.nttdatabc.mscustomer.utils.validation;
+
+/**
+ * Incumplimiento de una regla, armado una sola vez al compilar las reglas.
+ * El message es el de Constantes que va en la respuesta, el detail indica el campo.
+ */
+public final class Violation {
+  private final int priority;
+  private final String message;
+  private final String detail;
+
+  private Violation(int priority, String message, String detail) {
+    this.priority = priority;
+    this.message = message;
+    this.detail = detail;
+  }
+
+  /**
+   * Crea la violación de una regla.
+   *
+   * @param priority con varias violaciones, el message de la de menor prioridad va en la respuesta.
+   * @param message  mensaje de Constantes.
+   * @param detail   detalle del campo.
+   * @return la violación.
+   */
+  public static Violation of(int priority, String message, String detail) {
+    return new Violation(priority, message, detail);
+  }
+
+  public int getPriority() {
+    return priority;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public String getDetail() {
+    return detail;
+  }
+}
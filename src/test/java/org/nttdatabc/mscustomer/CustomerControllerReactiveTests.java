@@ -0,0 +1,106 @@
+package org.nttdatabc.mscustomer;
+
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
+import org.junit.jupiter.api.Test;
+import org.nttdatabc.mscustomer.model.Customer;
+import org.nttdatabc.mscustomer.service.CustomerService;
+import org.nttdatabc.mscustomer.utils.exceptions.errors.ErrorResponseException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_NOT_FOUND_RECURSO;
+import static org.nttdatabc.mscustomer.utils.Constantes.PREFIX_PATH;
+import static org.mockito.Mockito.*;
+
+/**
+ * El controller servido por WebFlux (spring.main.web-application-type=reactive): ResponseEntity de
+ * un Single, Observable por el ObservableResponseEntityResultHandler y errores por el
+ * GlobalExceptionHandler.
+ */
+@SpringBootTest(properties = {"spring.main.web-application-type=reactive", "mscustomer.mongo.create-indexes=false"})
+@AutoConfigureWebTestClient
+class CustomerControllerReactiveTests {
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@MockBean
+	private CustomerService customerService;
+
+	@Test
+	void getCustomerByIdReturnsCustomerWithEtag() throws ErrorResponseException {
+		// Arrange
+		when(customerService.getCustomerByIdService("c1"))
+				.thenReturn(Single.just(new Customer().id("c1").fullname("Ana").type("PERSONA").version(2L)));
+
+		// Act and Assert
+		webTestClient.get().uri(PREFIX_PATH + "/customer/c1").accept(MediaType.APPLICATION_JSON)
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+				.expectHeader().valueEquals(HttpHeaders.ETAG, "\"c1-2\"")
+				.expectBody()
+				.jsonPath("$._id").isEqualTo("c1")
+				.jsonPath("$.fullname").isEqualTo("Ana");
+	}
+
+	@Test
+	void getCustomerByIdNotFoundReturnsErrorBody() throws ErrorResponseException {
+		// Arrange
+		when(customerService.getCustomerByIdService("missing")).thenReturn(Single.error(
+				new ErrorResponseException(EX_NOT_FOUND_RECURSO, HttpStatus.NOT_FOUND.value(), HttpStatus.NOT_FOUND)));
+
+		// Act and Assert
+		webTestClient.get().uri(PREFIX_PATH + "/customer/missing").accept(MediaType.APPLICATION_JSON)
+				.exchange()
+				.expectStatus().isNotFound()
+				.expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+				.expectBody()
+				.jsonPath("$.httpStatus").isEqualTo("NOT_FOUND")
+				.jsonPath("$.message").isEqualTo(EX_NOT_FOUND_RECURSO)
+				.jsonPath("$.code").isEqualTo(404)
+				.jsonPath("$.details").doesNotExist();
+	}
+
+	@Test
+	void getAllCustomersReturnsArray() {
+		// Arrange
+		when(customerService.getCollectionVersionService()).thenReturn(Maybe.empty());
+		when(customerService.getAllCustomersService()).thenReturn(Observable.just(List.of(
+				new Customer().id("c1").fullname("Ana"), new Customer().id("c2").fullname("Luis"))));
+
+		// Act and Assert
+		webTestClient.get().uri(PREFIX_PATH + "/customer").accept(MediaType.APPLICATION_JSON)
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().doesNotExist(HttpHeaders.ETAG)
+				.expectBody()
+				.jsonPath("$.length()").isEqualTo(2)
+				.jsonPath("$[0]._id").isEqualTo("c1")
+				.jsonPath("$[1].fullname").isEqualTo("Luis");
+	}
+
+	@Test
+	void getAllCustomersWithMatchingEtagReturnsNotModified() {
+		// Arrange
+		when(customerService.getCollectionVersionService()).thenReturn(Maybe.just("v1"));
+
+		// Act and Assert
+		webTestClient.get().uri(PREFIX_PATH + "/customer").header(HttpHeaders.IF_NONE_MATCH, "\"customers-v1\"")
+				.exchange()
+				.expectStatus().isNotModified()
+				.expectHeader().valueEquals(HttpHeaders.ETAG, "\"customers-v1\"")
+				.expectBody().isEmpty();
+		verify(customerService, never()).getAllCustomersService();
+	}
+}
@@ -1,34 +1,124 @@
 package org.nttdatabc.mscustomer;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.mongodb.MongoSocketReadException;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.nttdatabc.mscustomer.config.Bulkhead;
+import org.nttdatabc.mscustomer.controller.CustomerMetrics;
 import org.nttdatabc.mscustomer.model.AuthorizedSigner;
 import org.nttdatabc.mscustomer.model.Customer;
+import org.nttdatabc.mscustomer.model.CustomerBatchResult;
+import org.nttdatabc.mscustomer.model.CustomerLookupRequest;
+import org.nttdatabc.mscustomer.model.CustomerLookupResponse;
+import org.nttdatabc.mscustomer.model.CustomerPage;
+import org.nttdatabc.mscustomer.model.CustomerPatch;
+import org.nttdatabc.mscustomer.model.CustomerSummary;
+import org.nttdatabc.mscustomer.model.CustomerSummaryPage;
+import org.nttdatabc.mscustomer.repository.CustomerReactiveRepository;
 import org.nttdatabc.mscustomer.repository.CustomerRepository;
+import org.nttdatabc.mscustomer.repository.CustomerSearch;
+import org.nttdatabc.mscustomer.service.CustomerBatchLoader;
+import org.nttdatabc.mscustomer.service.CustomerCache;
+import org.nttdatabc.mscustomer.service.CustomerChangeStreamListener;
+import org.nttdatabc.mscustomer.service.CustomerIdentifierFilter;
+import org.nttdatabc.mscustomer.service.CustomerLoads;
+import org.nttdatabc.mscustomer.service.CustomerReactiveServiceImpl;
 import org.nttdatabc.mscustomer.service.CustomerServiceImpl;
+import org.nttdatabc.mscustomer.utils.CountingBloomFilter;
+import org.nttdatabc.mscustomer.utils.CustomerValidator;
+import org.nttdatabc.mscustomer.utils.SingleFlight;
+import org.nttdatabc.mscustomer.utils.Utilitarios;
+import org.nttdatabc.mscustomer.utils.exceptions.GlobalExceptionHandler;
+import org.nttdatabc.mscustomer.utils.exceptions.dto.ErrorDto;
+import org.nttdatabc.mscustomer.utils.exceptions.dto.RenderedError;
 import org.nttdatabc.mscustomer.utils.exceptions.errors.ErrorResponseException;
+import org.nttdatabc.mscustomer.utils.id.IdGenerator;
+import org.nttdatabc.mscustomer.utils.id.TimeOrderedIdGenerator;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_BULKHEAD_FULL;
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_ERROR_REQUEST;
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_NOT_FOUND_RECURSO;
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_SEARCH_CRITERIA;
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_USER_REGISTRED;
 import static org.mockito.Mockito.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "mscustomer.mongo.create-indexes=false")
 class MsCustomerApplicationTests {
 
 	@Mock
 	private CustomerRepository customerRepository;
 
+	@Spy
+	private CustomerCache customerCache = new CustomerCache(100, Duration.ofMinutes(1));
+
+	@Spy
+	private CustomerLoads customerLoads = new CustomerLoads();
+
+	@Spy
+	private CustomerIdentifierFilter identifierFilter = new CustomerIdentifierFilter(true, 1000, 0.01);
+
+	@Spy
+	private IdGenerator idGenerator = new TimeOrderedIdGenerator();
+
 	@InjectMocks
 	private CustomerServiceImpl customerService;
 
+	@Mock
+	private CustomerReactiveRepository customerReactiveRepository;
+
+	@InjectMocks
+	private CustomerReactiveServiceImpl customerReactiveService;
+
 	@BeforeEach
 	void setUp() {
 		MockitoAnnotations.initMocks(this);
@@ -46,6 +136,75 @@ class MsCustomerApplicationTests {
 		assertFalse(result.isEmpty());
 	}
 	@Test
+	void getCustomersPageService() throws ErrorResponseException {
+		// Arrange
+		List<Customer> customers = new ArrayList<>();
+		for (String id : List.of("a1", "b2", "c3")) {
+			Customer customer = new Customer();
+			customer.setId(id);
+			customers.add(customer);
+		}
+		when(customerRepository.findPageAfter(null, 3)).thenReturn(customers);
+
+		// Act
+		CustomerPage page = customerService.getCustomersPageService(2, null).blockingGet();
+
+		// Assert
+		assertEquals(2, page.getItems().size());
+		assertNotNull(page.getNextCursor());
+		verify(customerRepository, times(1)).findPageAfter(null, 3);
+	}
+	@Test
+	void searchCustomersServiceByName() throws ErrorResponseException {
+		// Arrange
+		List<Customer> customers = new ArrayList<>();
+		for (String id : List.of("a1", "b2", "c3")) {
+			customers.add(new Customer().id(id).fullname("José Pérez " + id));
+		}
+		ArgumentCaptor<CustomerSearch> search = ArgumentCaptor.forClass(CustomerSearch.class);
+		when(customerRepository.search(search.capture())).thenReturn(customers);
+
+		// Act
+		CustomerPage page = customerService.searchCustomersService("  JOSÉ   pérez", null, " ", 2, null).blockingGet();
+
+		// Assert
+		assertEquals("jose perez", search.getValue().getNamePrefix());
+		assertNull(search.getValue().getPhone());
+		assertEquals(3, search.getValue().getLimit());
+		assertEquals(2, page.getItems().size());
+		assertEquals("jose perez b2\nb2", Utilitarios.decodeCursor(page.getNextCursor()));
+	}
+	@Test
+	void searchCustomersServiceWithoutCriteria() throws ErrorResponseException {
+		// Act and Assert
+		customerService.searchCustomersService("jo", null, null, null, null).test()
+				.assertError(e -> e instanceof ErrorResponseException && EX_SEARCH_CRITERIA.equals(e.getMessage()));
+		verify(customerRepository, never()).search(any());
+	}
+	@Test
+	void getCustomersBySignerDniService() throws ErrorResponseException {
+		// Arrange
+		List<CustomerSummary> summaries = new ArrayList<>();
+		for (String id : List.of("a1", "b2", "c3")) {
+			summaries.add(new CustomerSummary().id(id).type("empresa"));
+		}
+		when(customerRepository.findSummariesBySignerDni("12345678", null, 3)).thenReturn(summaries);
+
+		// Act
+		CustomerSummaryPage page = customerService.getCustomersBySignerDniService(" 12345678 ", 2, null).blockingGet();
+
+		// Assert
+		assertEquals(2, page.getItems().size());
+		assertEquals("b2", Utilitarios.decodeCursor(page.getNextCursor()));
+	}
+	@Test
+	void getCustomersBySignerDniServiceBlankDni() throws ErrorResponseException {
+		// Act and Assert
+		customerService.getCustomersBySignerDniService(" ", null, null).test()
+				.assertError(e -> e instanceof ErrorResponseException && EX_ERROR_REQUEST.equals(e.getMessage()));
+		verify(customerRepository, never()).findSummariesBySignerDni(any(), any(), anyInt());
+	}
+	@Test
 	void createCustomerService() throws ErrorResponseException {
 		// Arrange
 		Customer customer = new Customer();
@@ -57,13 +216,148 @@ class MsCustomerApplicationTests {
 		customer.setType("persona");
 		customer.setEmail("vtrtr@dfsd.com");
 
-		when(customerRepository.save(any())).thenReturn(customer);
+		when(customerRepository.insert(any(Customer.class))).thenReturn(customer);
 
 		// Act
 		assertDoesNotThrow(() -> customerService.createCustomerService(customer).blockingAwait());
 
 		// Assert
-		verify(customerRepository, times(1)).save(any());
+		verify(customerRepository, times(1)).insert(any(Customer.class));
+		verify(customerRepository, never()).findByIdentifier(any());
+		verify(idGenerator, times(1)).nextId();
+		assertEquals(26, customer.getId().length());
+		assertTrue(customer.getId().compareTo(idGenerator.nextId()) < 0);
+	}
+	@Test
+	void timeOrderedIdsIncreaseAcrossThreads() throws InterruptedException {
+		// Arrange
+		IdGenerator generator = new TimeOrderedIdGenerator();
+		List<List<String>> perThread = Collections.synchronizedList(new ArrayList<>());
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			threads.add(new Thread(() -> {
+				List<String> ids = new ArrayList<>();
+				for (int i = 0; i < 100_000; i++) {
+					ids.add(generator.nextId());
+				}
+				perThread.add(ids);
+			}));
+		}
+
+		// Act
+		threads.forEach(Thread::start);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		// Assert
+		Set<String> distinct = new HashSet<>();
+		for (List<String> ids : perThread) {
+			for (int i = 1; i < ids.size(); i++) {
+				assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0);
+			}
+			distinct.addAll(ids);
+		}
+		assertEquals(400_000, distinct.size());
+	}
+	@Test
+	void createCustomerServiceDuplicateIdentifier() throws ErrorResponseException {
+		// Arrange
+		Customer customer = new Customer();
+		customer.setIdentifier("testIdentifier");
+		customer.setPhone("34234324");
+		customer.setFullname("fullname");
+		customer.setAddress("direccion");
+		customer.setBirthday("2020-01-01");
+		customer.setType("persona");
+		customer.setEmail("vtrtr@dfsd.com");
+
+		when(customerRepository.insert(any(Customer.class))).thenThrow(new DuplicateKeyException("E11000"));
+
+		// Act and Assert
+		customerService.createCustomerService(customer).test()
+				.assertError(e -> e instanceof ErrorResponseException && ((ErrorResponseException) e).getStatus() == 400);
+	}
+	@Test
+	void createCustomerServiceAllViolations() throws ErrorResponseException {
+		// Arrange
+		Customer customer = new Customer();
+		customer.setIdentifier(" ");
+		customer.setType("otro");
+		customer.setEmail("vtrtr@dfsd.com");
+
+		// Act and Assert
+		customerService.createCustomerService(customer).test()
+				.assertError(e -> e instanceof ErrorResponseException
+						&& EX_ERROR_REQUEST.equals(e.getMessage())
+						&& ((ErrorResponseException) e).getDetails().size() == 6);
+		verify(customerRepository, never()).insert(any(Customer.class));
+	}
+
+	@Test
+	void createCustomersBatchService() throws ErrorResponseException {
+		// Arrange
+		List<Customer> customers = new ArrayList<>();
+		for (String identifier : List.of("111", "222", "111", "333", "444")) {
+			Customer customer = new Customer();
+			customer.setIdentifier(identifier);
+			customer.setPhone("34234324");
+			customer.setFullname("fullname");
+			customer.setAddress("direccion");
+			customer.setBirthday("2020-01-01");
+			customer.setType("persona");
+			customer.setEmail("vtrtr@dfsd.com");
+			customers.add(customer);
+		}
+		customers.get(3).setType("otro");
+		ReflectionTestUtils.setField(customerService, "batchChunkSize", 1);
+
+		when(customerRepository.findRegisteredIdentifiers(Set.of("111", "222", "444"))).thenReturn(Set.of("222"));
+		when(customerRepository.insertUnordered(any())).thenReturn(Map.of()).thenReturn(Map.of(0, 11000));
+
+		// Act
+		List<CustomerBatchResult> results = customerService.createCustomersBatchService(customers).blockingGet();
+
+		// Assert
+		assertEquals(CustomerBatchResult.StatusEnum.CREATED, results.get(0).getStatus());
+		assertNotNull(results.get(0).getId());
+		assertEquals(CustomerBatchResult.StatusEnum.DUPLICATE, results.get(1).getStatus());
+		assertEquals(CustomerBatchResult.StatusEnum.DUPLICATE, results.get(2).getStatus());
+		assertEquals(CustomerBatchResult.StatusEnum.INVALID, results.get(3).getStatus());
+		assertEquals(CustomerBatchResult.StatusEnum.DUPLICATE, results.get(4).getStatus());
+		verify(customerRepository, times(1)).findRegisteredIdentifiers(any());
+		verify(customerRepository, times(2)).insertUnordered(any());
+	}
+
+	@Test
+	void createCustomersBatchServiceSkipsIdentifiersAbsentFromFilter() throws ErrorResponseException {
+		// Arrange
+		List<Customer> customers = new ArrayList<>();
+		for (String identifier : List.of("111", "222")) {
+			Customer customer = new Customer();
+			customer.setIdentifier(identifier);
+			customer.setPhone("34234324");
+			customer.setFullname("fullname");
+			customer.setAddress("direccion");
+			customer.setBirthday("2020-01-01");
+			customer.setType("persona");
+			customer.setEmail("vtrtr@dfsd.com");
+			customers.add(customer);
+		}
+		when(customerRepository.streamIdentifiers()).thenReturn(Stream.of("222"));
+		ReflectionTestUtils.setField(identifierFilter, "customerRepository", customerRepository);
+		identifierFilter.load();
+		when(customerRepository.findRegisteredIdentifiers(Set.of("222"))).thenReturn(Set.of("222"));
+		when(customerRepository.insertUnordered(any())).thenReturn(Map.of());
+
+		// Act
+		List<CustomerBatchResult> results = customerService.createCustomersBatchService(customers).blockingGet();
+
+		// Assert
+		assertEquals(CustomerBatchResult.StatusEnum.CREATED, results.get(0).getStatus());
+		assertEquals(CustomerBatchResult.StatusEnum.DUPLICATE, results.get(1).getStatus());
+		verify(customerRepository, times(1)).findRegisteredIdentifiers(Set.of("222"));
+		assertTrue(identifierFilter.candidates(List.of("111")).contains("111"));
 	}
 
 	@Test
@@ -84,6 +378,158 @@ class MsCustomerApplicationTests {
 		verify(customerRepository, times(1)).findById(customerId);
 	}
 	@Test
+	void getCustomerByIdServiceUsesCacheUntilDeleted() throws ErrorResponseException {
+		// Arrange
+		String customerId = "testCustomerId";
+		Customer expectedCustomer = new Customer();
+		expectedCustomer.setId(customerId);
+
+		when(customerRepository.findById(customerId)).thenReturn(Optional.of(expectedCustomer));
+
+		// Act
+		customerService.getCustomerByIdService(customerId).blockingGet();
+		customerService.getCustomerByIdService(customerId).blockingGet();
+		customerService.deleteCustomerByIdService(customerId).blockingAwait();
+
+		// Assert
+		verify(customerRepository, times(2)).findById(customerId);
+		assertEquals(1, customerCache.stats().hitCount());
+		assertNull(customerCache.getIfPresent(customerId));
+	}
+	@Test
+	void getCustomerByIdServiceDoesNotCacheReadRacingWrite() throws ErrorResponseException {
+		// Arrange
+		String customerId = "testCustomerId";
+		when(customerRepository.findById(customerId)).thenAnswer(invocation -> {
+			customerCache.invalidate(customerId);
+			return Optional.of(new Customer().id(customerId).fullname("before write"));
+		});
+
+		// Act
+		Customer result = customerService.getCustomerByIdService(customerId).blockingGet();
+
+		// Assert
+		assertEquals("before write", result.getFullname());
+		assertNull(customerCache.getIfPresent(customerId));
+	}
+	@Test
+	void getCustomerByIdServiceReturnsCopiesOfCachedCustomer() throws ErrorResponseException {
+		// Arrange
+		String customerId = "testCustomerId";
+		when(customerRepository.findById(customerId)).thenReturn(Optional.of(new Customer().id(customerId).fullname("original")));
+
+		// Act
+		Customer first = customerService.getCustomerByIdService(customerId).blockingGet();
+		first.setFullname("changed by caller");
+		Customer second = customerService.getCustomerByIdService(customerId).blockingGet();
+
+		// Assert
+		assertNotSame(first, second);
+		assertEquals("original", second.getFullname());
+		verify(customerRepository, times(1)).findById(customerId);
+	}
+	@Test
+	void getCustomerVersionServiceSkipsDocumentLoad() throws ErrorResponseException {
+		// Arrange
+		String customerId = "testCustomerId";
+		CustomerChangeStreamListener listener = mock(CustomerChangeStreamListener.class);
+		when(listener.isCaughtUp()).thenReturn(true);
+		ReflectionTestUtils.setField(customerService, "changeStreamListener", listener);
+		when(customerRepository.findVersionById(customerId)).thenReturn(Optional.of(3L));
+		when(customerRepository.findById(customerId)).thenReturn(Optional.of(new Customer().id(customerId).version(4L)));
+
+		// Act
+		Long beforeLoad = customerService.getCustomerVersionService(customerId).blockingGet();
+		customerService.getCustomerByIdService(customerId).blockingGet();
+		Long afterLoad = customerService.getCustomerVersionService(customerId).blockingGet();
+
+		// Assert
+		assertEquals(3L, beforeLoad);
+		assertEquals(4L, afterLoad);
+		verify(customerRepository, times(1)).findVersionById(customerId);
+	}
+	@Test
+	void getCustomerVersionServiceReadsMongoWithoutChangeStream() throws ErrorResponseException {
+		// Arrange
+		String customerId = "testCustomerId";
+		when(customerRepository.findVersionById(customerId)).thenReturn(Optional.of(5L));
+		when(customerRepository.findById(customerId)).thenReturn(Optional.of(new Customer().id(customerId).version(4L)));
+
+		// Act
+		customerService.getCustomerByIdService(customerId).blockingGet();
+		Long version = customerService.getCustomerVersionService(customerId).blockingGet();
+
+		// Assert
+		assertEquals(5L, version);
+		verify(customerRepository, times(1)).findVersionById(customerId);
+		customerService.getCollectionVersionService().test().assertNoValues().assertComplete();
+	}
+	@Test
+	void getCustomerByIdServiceCoalescesConcurrentReads() throws Exception {
+		// Arrange
+		String customerId = "testCustomerId";
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(customerRepository.findById(customerId)).thenAnswer(invocation -> {
+			loading.countDown();
+			release.await();
+			return Optional.of(new Customer().id(customerId));
+		});
+
+		// Act
+		TestObserver<Customer> leader = customerService.getCustomerByIdService(customerId).subscribeOn(Schedulers.io()).test();
+		loading.await();
+		TestObserver<Customer> follower = customerService.getCustomerByIdService(customerId).subscribeOn(Schedulers.io()).test();
+		while (customerLoads.coalesced() == 0) {
+			Thread.onSpinWait();
+		}
+		release.countDown();
+
+		// Assert
+		leader.await().assertValue(customer -> customerId.equals(customer.getId()));
+		follower.await().assertValue(customer -> customerId.equals(customer.getId()));
+		verify(customerRepository, times(1)).findById(customerId);
+		assertEquals(1, customerLoads.loads());
+	}
+	@Test
+	void lookupCustomersService() throws ErrorResponseException {
+		// Arrange
+		Customer found = new Customer();
+		found.setId("a1");
+		found.setIdentifier("111");
+		CustomerLookupRequest request = new CustomerLookupRequest()
+				.ids(List.of("a1", "b2", "a1"))
+				.identifiers(List.of("111", "999"));
+
+		when(customerRepository.findAllById(List.of("a1", "b2"))).thenReturn(List.of(found));
+		when(customerRepository.findAllByIdentifierIn(List.of("999"))).thenReturn(List.of());
+
+		// Act
+		CustomerLookupResponse response = customerService.lookupCustomersService(request).blockingGet();
+
+		// Assert
+		assertEquals(1, response.getCustomers().size());
+		assertEquals(List.of("b2", "999"), response.getMissing());
+		verify(customerRepository, times(1)).findAllById(any());
+		verify(customerRepository, times(1)).findAllByIdentifierIn(any());
+	}
+	@Test
+	void getCustomerSummaryByIdService() throws ErrorResponseException {
+		// Arrange
+		CustomerSummary summary = new CustomerSummary().id("a1").identifier("111").type("PERSONA").fullname("Juan");
+		when(customerRepository.findSummaryById("a1")).thenReturn(Optional.of(summary));
+		when(customerRepository.findSummaryById("b2")).thenReturn(Optional.empty());
+
+		// Act
+		CustomerSummary result = customerService.getCustomerSummaryByIdService("a1").blockingGet();
+
+		// Assert
+		assertEquals("111", result.getIdentifier());
+		verify(customerRepository, never()).findById(any());
+		customerService.getCustomerSummaryByIdService("b2").test()
+				.assertError(e -> e instanceof ErrorResponseException && ((ErrorResponseException) e).getStatus() == 404);
+	}
+	@Test
 	void updateCustomerService() throws ErrorResponseException {
 		// Arrange
 		String customerId = "testCustomerId";
@@ -107,15 +553,58 @@ class MsCustomerApplicationTests {
 		existingCustomer.setType("persona");
 		existingCustomer.setEmail("vtrtr@dfsd.com");
 
+		existingCustomer.setVersion(3L);
+
 		when(customerRepository.findById(customerId)).thenReturn(Optional.of(existingCustomer));
-		when(customerRepository.save(any())).thenReturn(existingCustomer);
+		when(customerRepository.replaceCustomer(customerId, customerToUpdate, 3L)).thenReturn(true);
 
 		// Act
 		assertDoesNotThrow(() -> customerService.updateCustomerService(customerToUpdate).blockingAwait());
 
 		// Assert
 		verify(customerRepository, times(1)).findById(customerId);
-		verify(customerRepository, times(1)).save(existingCustomer);
+		verify(customerRepository, times(1)).replaceCustomer(customerId, customerToUpdate, 3L);
+		verify(customerRepository, never()).save(any());
+	}
+	@Test
+	void updateCustomerServiceVersionConflict() throws ErrorResponseException {
+		// Arrange
+		String customerId = "testCustomerId";
+		Customer customerToUpdate = new Customer();
+		customerToUpdate.setId(customerId);
+		customerToUpdate.setIdentifier("testIdentifier");
+		customerToUpdate.setPhone("34234324");
+		customerToUpdate.setFullname("fullname");
+		customerToUpdate.setAddress("direccion");
+		customerToUpdate.setBirthday("2020-01-01");
+		customerToUpdate.setType("persona");
+		customerToUpdate.setEmail("vtrtr@dfsd.com");
+
+		when(customerRepository.findById(customerId)).thenReturn(Optional.of(new Customer().id(customerId).version(3L)));
+		when(customerRepository.replaceCustomer(customerId, customerToUpdate, 3L)).thenReturn(false);
+		when(customerRepository.existsById(customerId)).thenReturn(true);
+
+		// Act and Assert
+		customerService.updateCustomerService(customerToUpdate).test()
+				.assertError(e -> ((ErrorResponseException) e).getHttpStatus() == HttpStatus.CONFLICT);
+	}
+
+	@Test
+	void patchCustomerServiceVersionConflict() throws ErrorResponseException {
+		// Arrange
+		String customerId = "testCustomerId";
+		CustomerPatch patch = new CustomerPatch();
+		patch.setPhone("999888777");
+		patch.setVersion(3L);
+
+		when(customerRepository.patchCustomer(customerId, patch)).thenReturn(false);
+		when(customerRepository.existsById(customerId)).thenReturn(true);
+
+		// Act and Assert
+		customerService.patchCustomerService(customerId, patch).test()
+				.assertError(e -> e instanceof ErrorResponseException && ((ErrorResponseException) e).getStatus() == 409);
+		verify(customerRepository, never()).findById(customerId);
+		verify(customerRepository, never()).save(any());
 	}
 
 	@Test
@@ -163,18 +652,410 @@ class MsCustomerApplicationTests {
 		authorizedSigner.setCargo("fdsfds");
 		authorizedSigner.setDni("fdsfds");
 		authorizedSigner.setFullname("fdsfds");
-		Customer existingCustomer = new Customer();
-		existingCustomer.setId(customerId);
 
-		when(customerRepository.findById(customerId)).thenReturn(Optional.of(existingCustomer));
-		when(customerRepository.save(any())).thenReturn(existingCustomer);
+		when(customerRepository.pushAuthorizedSigner(customerId, authorizedSigner)).thenReturn(true);
 
 		// Act
 		assertDoesNotThrow(() -> customerService.createAuthorizedSignersByCustomerId(customerId, authorizedSigner).blockingAwait());
 
 		// Assert
-		verify(customerRepository, times(1)).findById(customerId);
-		verify(customerRepository, times(1)).save(existingCustomer);
+		verify(customerRepository, times(1)).pushAuthorizedSigner(customerId, authorizedSigner);
+		verify(customerRepository, never()).findById(customerId);
+		verify(customerRepository, never()).save(any());
+	}
+	@Test
+	void createAuthorizedSignersByCustomerIdPersona() throws ErrorResponseException {
+		// Arrange
+		String customerId = "testCustomerId";
+		AuthorizedSigner authorizedSigner = new AuthorizedSigner();
+		authorizedSigner.setCargo("fdsfds");
+		authorizedSigner.setDni("fdsfds");
+		authorizedSigner.setFullname("fdsfds");
+
+		when(customerRepository.pushAuthorizedSigner(customerId, authorizedSigner)).thenReturn(false);
+		when(customerRepository.existsById(customerId)).thenReturn(true);
+
+		// Act and Assert
+		customerService.createAuthorizedSignersByCustomerId(customerId, authorizedSigner).test()
+				.assertError(e -> e instanceof ErrorResponseException && ((ErrorResponseException) e).getStatus() == 409);
+	}
+	@Test
+	void createCustomerReactiveServiceDuplicateIdentifier() throws ErrorResponseException {
+		// Arrange
+		Customer customer = new Customer();
+		customer.setIdentifier("111");
+		customer.setPhone("34234324");
+		customer.setFullname("fullname");
+		customer.setAddress("direccion");
+		customer.setBirthday("2020-01-01");
+		customer.setType("persona");
+		customer.setEmail("vtrtr@dfsd.com");
+
+		when(customerReactiveRepository.insert(any(Customer.class))).thenReturn(Mono.error(new DuplicateKeyException("E11000")));
+
+		// Act and Assert
+		customerReactiveService.createCustomerService(customer).test()
+				.assertError(e -> e instanceof ErrorResponseException
+						&& ((ErrorResponseException) e).getHttpStatus() == HttpStatus.BAD_REQUEST
+						&& EX_USER_REGISTRED.equals(e.getMessage()));
+		verify(identifierFilter, times(1)).add("111");
+	}
+	@Test
+	void createCustomersBatchReactiveService() throws ErrorResponseException {
+		// Arrange
+		List<Customer> customers = new ArrayList<>();
+		for (String identifier : List.of("111", "222", "111", "333", "444")) {
+			Customer customer = new Customer();
+			customer.setIdentifier(identifier);
+			customer.setPhone("34234324");
+			customer.setFullname("fullname");
+			customer.setAddress("direccion");
+			customer.setBirthday("2020-01-01");
+			customer.setType("persona");
+			customer.setEmail("vtrtr@dfsd.com");
+			customers.add(customer);
+		}
+		customers.get(3).setType("otro");
+		ReflectionTestUtils.setField(customerReactiveService, "batchChunkSize", 1);
+
+		when(customerReactiveRepository.findRegisteredIdentifiers(Set.of("111", "222", "444"))).thenReturn(Mono.just(Set.of("222")));
+		when(customerReactiveRepository.insertUnordered(any()))
+				.thenReturn(Mono.just(Map.of())).thenReturn(Mono.just(Map.of(0, 11000)));
+
+		// Act
+		List<CustomerBatchResult> results = customerReactiveService.createCustomersBatchService(customers).blockingGet();
+
+		// Assert
+		assertEquals(CustomerBatchResult.StatusEnum.CREATED, results.get(0).getStatus());
+		assertNotNull(results.get(0).getId());
+		assertEquals(CustomerBatchResult.StatusEnum.DUPLICATE, results.get(1).getStatus());
+		assertEquals(CustomerBatchResult.StatusEnum.DUPLICATE, results.get(2).getStatus());
+		assertEquals(CustomerBatchResult.StatusEnum.INVALID, results.get(3).getStatus());
+		assertEquals(CustomerBatchResult.StatusEnum.DUPLICATE, results.get(4).getStatus());
+		verify(customerReactiveRepository, times(1)).findRegisteredIdentifiers(any());
+		verify(customerReactiveRepository, times(2)).insertUnordered(any());
+	}
+	@Test
+	void patchCustomerReactiveServiceVersionConflict() throws ErrorResponseException {
+		// Arrange
+		CustomerPatch patch = new CustomerPatch();
+		patch.setPhone("999888777");
+		patch.setVersion(3L);
+
+		when(customerReactiveRepository.patchCustomer(anyString(), eq(patch))).thenReturn(Mono.just(false));
+		when(customerReactiveRepository.existsById("changed")).thenReturn(Mono.just(true));
+		when(customerReactiveRepository.existsById("missing")).thenReturn(Mono.just(false));
+
+		// Act and Assert
+		customerReactiveService.patchCustomerService("changed", patch).test()
+				.assertError(e -> ((ErrorResponseException) e).getHttpStatus() == HttpStatus.CONFLICT);
+		customerReactiveService.patchCustomerService("missing", patch).test()
+				.assertError(e -> ((ErrorResponseException) e).getHttpStatus() == HttpStatus.NOT_FOUND);
+		verify(customerReactiveRepository, never()).findById(anyString());
+		verify(customerCache, never()).invalidate(anyString());
+	}
+	@Test
+	void createAuthorizedSignersReactiveServiceTargetErrors() throws ErrorResponseException {
+		// Arrange
+		AuthorizedSigner authorizedSigner = new AuthorizedSigner();
+		authorizedSigner.setDni("12345678");
+		authorizedSigner.setFullname("fullname");
+		authorizedSigner.setCargo("gerente");
+
+		when(customerReactiveRepository.pushAuthorizedSigner(anyString(), eq(authorizedSigner))).thenReturn(Mono.just(false));
+		when(customerReactiveRepository.pushAuthorizedSigner("empresa", authorizedSigner)).thenReturn(Mono.just(true));
+		when(customerReactiveRepository.existsById("persona")).thenReturn(Mono.just(true));
+		when(customerReactiveRepository.existsById("missing")).thenReturn(Mono.just(false));
+
+		// Act and Assert
+		customerReactiveService.createAuthorizedSignersByCustomerId("persona", authorizedSigner).test()
+				.assertError(e -> ((ErrorResponseException) e).getHttpStatus() == HttpStatus.CONFLICT);
+		customerReactiveService.createAuthorizedSignersByCustomerId("missing", authorizedSigner).test()
+				.assertError(e -> ((ErrorResponseException) e).getHttpStatus() == HttpStatus.NOT_FOUND);
+		customerReactiveService.createAuthorizedSignersByCustomerId("empresa", authorizedSigner).test()
+				.assertComplete();
+		verify(customerCache, times(1)).invalidate("empresa");
+	}
+	@Test
+	void singleFlightReleasesKeyWhenLoaderThrows() {
+		// Arrange
+		SingleFlight<String, String> loads = new SingleFlight<>("test");
+
+		// Act
+		TestObserver<String> failed = loads.single("k", () -> {
+			throw new IllegalStateException("loader failed");
+		}).test();
+		TestObserver<String> retried = loads.single("k", () -> Single.just("value")).test();
+
+		// Assert
+		failed.awaitDone(1, TimeUnit.SECONDS).assertError(IllegalStateException.class);
+		retried.awaitDone(1, TimeUnit.SECONDS).assertValue("value");
+		assertEquals(2, loads.loads());
+		assertEquals(0, loads.coalesced());
+	}
+	@Test
+	void customerMetricsOutcome() {
+		// Arrange
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		CustomerMetrics customerMetrics = new CustomerMetrics();
+		ReflectionTestUtils.setField(customerMetrics, "meterRegistry", registry);
+
+		// Act
+		Single.just("ok").compose(customerMetrics.single("getCustomerById")).test().assertValue("ok");
+		Single.<String>error(new ErrorResponseException("no", HttpStatus.NOT_FOUND.value(), HttpStatus.NOT_FOUND))
+				.compose(customerMetrics.single("getCustomerById"))
+				.test().assertError(ErrorResponseException.class);
+
+		// Assert
+		assertEquals(1, registry.get(CustomerMetrics.OPERATION_TIMER).tag("outcome", "2xx").timer().count());
+		assertEquals(1, registry.get(CustomerMetrics.OPERATION_TIMER).tag("outcome", "404").timer().count());
 	}
+	@Test
+	void bulkheadRejectsWhenFull() {
+		// Arrange
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		Bulkhead bulkhead = new Bulkhead("reads", 1, Schedulers.trampoline(), registry);
+		TestObserver<String> running = Single.<String>never().compose(bulkhead.single()).test();
 
+		// Act
+		TestObserver<String> rejected = Single.just("ok").compose(bulkhead.single()).test();
+		running.dispose();
+		TestObserver<String> admitted = Single.just("ok").compose(bulkhead.single()).test();
+
+		// Assert
+		rejected.assertError(e -> ((ErrorResponseException) e).getHttpStatus() == HttpStatus.TOO_MANY_REQUESTS);
+		admitted.assertValue("ok");
+		assertEquals(0, bulkhead.inUse());
+		assertEquals(1, registry.get(Bulkhead.REJECTED_COUNTER).tag("bulkhead", "reads").counter().count());
+	}
+	@Test
+	void customerBatchLoaderJoinsWindowIntoOneQuery() {
+		// Arrange
+		CustomerBatchLoader loader = new CustomerBatchLoader();
+		ReflectionTestUtils.setField(loader, "customerRepository", customerRepository);
+		ReflectionTestUtils.setField(loader, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(loader, "window", Duration.ofMillis(50));
+		ReflectionTestUtils.setField(loader, "maxSize", 100);
+		ReflectionTestUtils.setField(loader, "threads", 1);
+		loader.start();
+		when(customerRepository.findAllById(anyIterable())).thenReturn(List.of(new Customer().id("a1")));
+
+		// Act
+		TestObserver<Customer> first = loader.load("a1").test();
+		TestObserver<Customer> missing = loader.load("b2").test();
+
+		// Assert
+		first.awaitDone(5, TimeUnit.SECONDS).assertValue(customer -> "a1".equals(customer.getId()));
+		missing.awaitDone(5, TimeUnit.SECONDS).assertComplete().assertNoValues();
+		verify(customerRepository, times(1)).findAllById(Set.of("a1", "b2"));
+		loader.stop();
+	}
+	@Test
+	void countingBloomFilterAddRemoveAndSaturation() {
+		// Arrange
+		CountingBloomFilter filter = new CountingBloomFilter(1000, 0.01);
+		List<String> keys = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			keys.add("identifier-" + i);
+		}
+
+		CountingBloomFilter single = new CountingBloomFilter(1000, 0.01);
+
+		// Act
+		keys.forEach(filter::add);
+		single.add("removed");
+		single.remove("removed");
+		CountingBloomFilter saturated = new CountingBloomFilter(1000, 0.01);
+		for (int i = 0; i < 20; i++) {
+			saturated.add("hot");
+		}
+		for (int i = 0; i < 20; i++) {
+			saturated.remove("hot");
+		}
+
+		// Assert
+		assertTrue(keys.stream().allMatch(filter::mightContain));
+		assertFalse(single.mightContain("removed"));
+		assertTrue(saturated.mightContain("hot"));
+	}
+
+	@Test
+	void globalExceptionHandlerPreRendersFixedBodies() throws Exception {
+		// Arrange
+		ObjectMapper objectMapper = new ObjectMapper();
+		GlobalExceptionHandler handler = new GlobalExceptionHandler();
+		ReflectionTestUtils.setField(handler, "objectMapper", objectMapper);
+		handler.preRender();
+		Customer missingEmail = new Customer().identifier("12345678").fullname("Ana").type("PERSONA")
+				.address("Lima").phone("999").birthday("2000-01-01");
+		Customer missingEmailAndPhone = new Customer().identifier("12345678").fullname("Ana").type("PERSONA")
+				.address("Lima").birthday("2000-01-01");
+		ErrorResponseException oneViolation = assertThrows(ErrorResponseException.class,
+				() -> CustomerValidator.validateCustomer(missingEmail));
+		ErrorResponseException twoViolations = assertThrows(ErrorResponseException.class,
+				() -> CustomerValidator.validateCustomer(missingEmailAndPhone));
+
+		// Act
+		Object notFound = handler.handleCustomException(new ErrorResponseException(EX_NOT_FOUND_RECURSO,
+				HttpStatus.NOT_FOUND.value(), HttpStatus.NOT_FOUND)).getBody();
+		Object singleViolation = handler.handleCustomException(oneViolation).getBody();
+		Object manyViolations = handler.handleCustomException(twoViolations).getBody();
+		Object freeMessage = handler.handleCustomException(new ErrorResponseException("otro mensaje",
+				HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST)).getBody();
+
+		// Assert
+		assertTrue(notFound instanceof RenderedError);
+		JsonNode json = objectMapper.readTree(((RenderedError) notFound).bytesFor(MediaType.APPLICATION_JSON));
+		JsonNode smile = new ObjectMapper(new SmileFactory()).readTree(((RenderedError) notFound).bytesFor(RenderedError.APPLICATION_SMILE));
+		assertEquals(EX_NOT_FOUND_RECURSO, json.get("message").asText());
+		assertEquals(404, json.get("code").asInt());
+		assertEquals(json, smile);
+		assertTrue(singleViolation instanceof RenderedError);
+		JsonNode details = objectMapper.readTree(((RenderedError) singleViolation).bytesFor(MediaType.APPLICATION_JSON)).get("details");
+		assertEquals(1, details.size());
+		assertEquals(oneViolation.getDetails().get(0), details.get(0).asText());
+		assertTrue(manyViolations instanceof ErrorDto);
+		assertEquals(2, ((ErrorDto) manyViolations).getDetails().size());
+		assertTrue(freeMessage instanceof ErrorDto);
+	}
+	@Test
+	void globalExceptionHandlerAddsRetryAfterToEvery429() throws Exception {
+		// Arrange
+		GlobalExceptionHandler handler = new GlobalExceptionHandler();
+		ReflectionTestUtils.setField(handler, "objectMapper", new ObjectMapper());
+		handler.preRender();
+
+		// Act
+		ResponseEntity<?> bulkheadFull = handler.handleCustomException(new ErrorResponseException(EX_BULKHEAD_FULL,
+				HttpStatus.TOO_MANY_REQUESTS.value(), HttpStatus.TOO_MANY_REQUESTS));
+		ResponseEntity<?> otherTooMany = handler.handleCustomException(new ErrorResponseException("otro mensaje",
+				HttpStatus.TOO_MANY_REQUESTS.value(), HttpStatus.TOO_MANY_REQUESTS));
+		ResponseEntity<?> notFound = handler.handleCustomException(new ErrorResponseException(EX_NOT_FOUND_RECURSO,
+				HttpStatus.NOT_FOUND.value(), HttpStatus.NOT_FOUND));
+
+		// Assert
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS, bulkheadFull.getStatusCode());
+		assertTrue(bulkheadFull.getBody() instanceof RenderedError);
+		assertEquals("1", bulkheadFull.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+		assertTrue(otherTooMany.getBody() instanceof ErrorDto);
+		assertEquals("1", otherTooMany.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+		assertNull(notFound.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+	}
+	@Test
+	@SuppressWarnings("unchecked")
+	void changeStreamListenerInvalidatesPerEventType() {
+		// Arrange
+		CustomerChangeStreamListener listener = new CustomerChangeStreamListener();
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		MongoCollection<Document> tokens = mock(MongoCollection.class);
+		when(mongoTemplate.getCollection(CustomerChangeStreamListener.TOKEN_COLLECTION)).thenReturn(tokens);
+		ReflectionTestUtils.setField(listener, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(listener, "customerCache", customerCache);
+		ReflectionTestUtils.setField(listener, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(listener, "tokenId", "ms-customer-test");
+		ReflectionTestUtils.setField(listener, "caughtUp", true);
+		ObjectId objectId = new ObjectId();
+		BsonValue stringId = new BsonString("c1");
+
+		// Act and Assert
+		for (OperationType operation : List.of(OperationType.INSERT, OperationType.UPDATE, OperationType.REPLACE, OperationType.DELETE)) {
+			clearInvocations(customerCache);
+			assertEquals(false, ReflectionTestUtils.invokeMethod(listener, "apply", change(operation, stringId, operation.ordinal())));
+			verify(customerCache, times(1)).invalidate("c1");
+			verify(customerCache, never()).invalidateAll();
+		}
+		String afterDelete = listener.lastChange();
+		assertNotNull(afterDelete);
+
+		clearInvocations(customerCache);
+		ReflectionTestUtils.invokeMethod(listener, "apply", change(OperationType.UPDATE, new BsonObjectId(objectId), 20));
+		verify(customerCache, times(1)).invalidate(objectId.toHexString());
+		assertNotEquals(afterDelete, listener.lastChange());
+
+		clearInvocations(customerCache);
+		ReflectionTestUtils.invokeMethod(listener, "apply", change(OperationType.DELETE, new BsonInt32(7), 21));
+		verify(customerCache, times(1)).invalidateAll();
+
+		for (OperationType operation : List.of(OperationType.DROP, OperationType.RENAME, OperationType.DROP_DATABASE, OperationType.INVALIDATE)) {
+			clearInvocations(customerCache, tokens);
+			assertEquals(true, ReflectionTestUtils.invokeMethod(listener, "apply", change(operation, null, 30 + operation.ordinal())));
+			verify(customerCache, times(1)).invalidateAll();
+			verify(tokens, times(1)).replaceOne(any(), any(Document.class), any(ReplaceOptions.class));
+			assertNull(ReflectionTestUtils.getField(listener, "resumeToken"));
+		}
+
+		clearInvocations(customerCache);
+		assertEquals(false, ReflectionTestUtils.invokeMethod(listener, "apply", change(OperationType.OTHER, null, 40)));
+		verify(customerCache, never()).invalidate(anyString());
+		verify(customerCache, never()).invalidateAll();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void changeStreamFailureStopsServingVersionsAndEtag() throws Exception {
+		// Arrange
+		CustomerChangeStreamListener listener = new CustomerChangeStreamListener();
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		MongoCollection<Document> customers = mock(MongoCollection.class);
+		MongoCollection<Document> tokens = mock(MongoCollection.class);
+		ChangeStreamIterable<Document> changes = mock(ChangeStreamIterable.class);
+		MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = mock(MongoChangeStreamCursor.class);
+		CountDownLatch fail = new CountDownLatch(1);
+		when(mongoTemplate.getCollectionName(Customer.class)).thenReturn("customer");
+		when(mongoTemplate.getCollection("customer")).thenReturn(customers);
+		when(mongoTemplate.getCollection(CustomerChangeStreamListener.TOKEN_COLLECTION)).thenReturn(tokens);
+		when(tokens.find(any(Bson.class))).thenReturn(mock(FindIterable.class));
+		when(customers.watch(anyList())).thenReturn(changes);
+		when(changes.maxAwaitTime(anyLong(), any())).thenReturn(changes);
+		when(changes.cursor()).thenReturn(cursor);
+		when(cursor.tryNext()).thenReturn(change(OperationType.UPDATE, new BsonString("c1"), 1)).thenReturn(null)
+				.thenAnswer(invocation -> {
+					fail.await();
+					throw new MongoSocketReadException("connection reset", new ServerAddress());
+				});
+		ReflectionTestUtils.setField(listener, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(listener, "customerCache", customerCache);
+		ReflectionTestUtils.setField(listener, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(listener, "tokenId", "ms-customer-test");
+		ReflectionTestUtils.setField(listener, "tokenSaveInterval", Duration.ofMinutes(1));
+		ReflectionTestUtils.setField(listener, "minBackoff", Duration.ofMinutes(1));
+		ReflectionTestUtils.setField(listener, "maxBackoff", Duration.ofMinutes(1));
+		ReflectionTestUtils.setField(customerService, "changeStreamListener", listener);
+		String customerId = "c1";
+		when(customerRepository.findById(customerId)).thenReturn(Optional.of(new Customer().id(customerId).version(4L)));
+		when(customerRepository.findVersionById(customerId)).thenReturn(Optional.of(5L));
+
+		// Act
+		listener.start();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!listener.isCaughtUp() && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		customerService.getCustomerByIdService(customerId).blockingGet();
+		String etagWhileUp = customerService.getCollectionVersionService().blockingGet();
+		Long versionWhileUp = customerService.getCustomerVersionService(customerId).blockingGet();
+		fail.countDown();
+		deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (listener.isCaughtUp() && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		Thread.sleep(50);
+		Long versionWhileDown = customerService.getCustomerVersionService(customerId).blockingGet();
+
+		// Assert
+		assertNotNull(etagWhileUp);
+		assertEquals(4L, versionWhileUp);
+		assertFalse(listener.isCaughtUp());
+		assertNull(listener.lastChange());
+		customerService.getCollectionVersionService().test().assertNoValues().assertComplete();
+		assertEquals(5L, versionWhileDown);
+		verify(customerRepository, times(1)).findVersionById(customerId);
+		listener.stop();
+	}
+
+	private static ChangeStreamDocument<Document> change(OperationType operation, BsonValue id, int token) {
+		BsonDocument documentKey = id == null ? null : new BsonDocument("_id", id);
+		return new ChangeStreamDocument<>(operation, new BsonDocument("_data", new BsonString("token-" + token)),
+				null, null, null, documentKey, null, null, null, null);
+	}
 }
@@ -0,0 +1,47 @@
+package org.nttdatabc.mscustomer.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.nttdatabc.mscustomer.model.AuthorizedSigner;
+import org.nttdatabc.mscustomer.model.Customer;
+
+/**
+ * Datos de prueba compartidos por los benchmarks.
+ */
+final class BenchmarkData {
+
+	private BenchmarkData() {
+	}
+
+	static Customer persona() {
+		return new Customer()
+				.id("6f1c2a3e-0000-4000-8000-000000000001")
+				.identifier("70123456")
+				.fullname("Juan Perez")
+				.type("PERSONA")
+				.address("Av. Javier Prado 123, Lima")
+				.phone("987654321")
+				.email("juan.perez@mail.com")
+				.birthday("1990-01-15")
+				.version(0L);
+	}
+
+	static Customer empresa(int signers) {
+		Customer customer = persona()
+				.identifier("20123456789")
+				.fullname("Empresa SAC")
+				.type("EMPRESA");
+		List<AuthorizedSigner> authorizedSigners = new ArrayList<>(signers);
+		for (int i = 0; i < signers; i++) {
+			authorizedSigners.add(signer(i));
+		}
+		return customer.authorizedSigners(authorizedSigners);
+	}
+
+	static AuthorizedSigner signer(int i) {
+		return new AuthorizedSigner()
+				.dni(String.valueOf(40000000 + i))
+				.fullname("Firmante " + i)
+				.cargo("Gerente");
+	}
+}
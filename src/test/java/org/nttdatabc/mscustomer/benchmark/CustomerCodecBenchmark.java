@@ -0,0 +1,76 @@
+package org.nttdatabc.mscustomer.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.nttdatabc.mscustomer.model.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * JSON contra Smile para un Customer según la cantidad de firmantes, con los ObjectMapper que arma
+ * Spring para cada converter. El tamaño del cuerpo (plano y con gzip) se imprime en el setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerCodecBenchmark {
+
+	@Param({"json", "smile"})
+	private String format;
+
+	@Param({"10", "1000"})
+	private int signers;
+
+	private ObjectWriter writer;
+	private ObjectReader reader;
+	private Customer customer;
+	private byte[] payload;
+
+	@Setup
+	public void setup() throws IOException {
+		ObjectMapper objectMapper = "smile".equals(format)
+				? Jackson2ObjectMapperBuilder.smile().build()
+				: Jackson2ObjectMapperBuilder.json().build();
+		writer = objectMapper.writerFor(Customer.class);
+		reader = objectMapper.readerFor(Customer.class);
+		customer = BenchmarkData.empresa(signers);
+		payload = writer.writeValueAsBytes(customer);
+		System.out.printf("%n%s signers=%d: %d bytes, %d bytes con gzip%n", format, signers, payload.length, gzip(payload).length);
+	}
+
+	@Benchmark
+	public byte[] serialize() throws IOException {
+		return writer.writeValueAsBytes(customer);
+	}
+
+	@Benchmark
+	public Customer deserialize() throws IOException {
+		return reader.readValue(payload);
+	}
+
+	private static byte[] gzip(byte[] bytes) throws IOException {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+			out.write(bytes);
+		}
+		return compressed.toByteArray();
+	}
+}
@@ -0,0 +1,60 @@
+package org.nttdatabc.mscustomer.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.nttdatabc.mscustomer.model.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Serialización y deserialización JSON de un Customer según la cantidad de firmantes,
+ * con el ObjectMapper que arma Spring por defecto.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerJsonBenchmark {
+
+	@Param({"0", "10", "1000"})
+	private int signers;
+
+	private ObjectWriter writer;
+	private ObjectReader reader;
+	private Customer customer;
+	private byte[] json;
+
+	@Setup
+	public void setup() throws IOException {
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		writer = objectMapper.writerFor(Customer.class);
+		reader = objectMapper.readerFor(Customer.class);
+		customer = BenchmarkData.empresa(signers);
+		json = writer.writeValueAsBytes(customer);
+	}
+
+	@Benchmark
+	public byte[] serialize() throws IOException {
+		return writer.writeValueAsBytes(customer);
+	}
+
+	@Benchmark
+	public Customer deserialize() throws IOException {
+		return reader.readValue(json);
+	}
+}
@@ -0,0 +1,229 @@
+package org.nttdatabc.mscustomer.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.nttdatabc.mscustomer.model.AuthorizedSigner;
+import org.nttdatabc.mscustomer.model.Customer;
+import org.nttdatabc.mscustomer.model.CustomerPatch;
+import org.nttdatabc.mscustomer.utils.CustomerValidator;
+import org.nttdatabc.mscustomer.utils.exceptions.errors.ErrorResponseException;
+import org.nttdatabc.mscustomer.utils.validation.CustomerRules;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Costo de CustomerValidator en el camino válido y en el que dispara la excepción. Los métodos
+ * legacy* corren todas las reglas con LegacyCustomerValidator (Optional y lambdas, una regla por
+ * llamada) y los rules* con CustomerRules, para comparar antes y después.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerValidatorBenchmark {
+
+	private Customer valid;
+	private Customer nulls;
+	private Customer empty;
+	private Customer badType;
+	private Customer personaWithSigners;
+	private AuthorizedSigner signer;
+	private AuthorizedSigner signerNulls;
+	private AuthorizedSigner signerEmpty;
+	private CustomerPatch patch;
+	private CustomerPatch patchEmpty;
+	private Customer allInvalid;
+
+	@Setup
+	public void setup() {
+		valid = BenchmarkData.persona();
+		nulls = BenchmarkData.persona().birthday(null);
+		empty = BenchmarkData.persona().birthday(" ");
+		badType = BenchmarkData.persona().type("OTRO");
+		personaWithSigners = BenchmarkData.persona().authorizedSigners(List.of(BenchmarkData.signer(0)));
+		signer = BenchmarkData.signer(0);
+		signerNulls = BenchmarkData.signer(0).dni(null);
+		signerEmpty = BenchmarkData.signer(0).dni(" ");
+		patch = new CustomerPatch().version(0L).email("otro@mail.com");
+		patchEmpty = new CustomerPatch().version(0L).email(" ");
+		allInvalid = new Customer().identifier(" ").type("OTRO").email(" ");
+	}
+
+	@Benchmark
+	public Object legacyNewCustomerValid() throws ErrorResponseException {
+		LegacyCustomerValidator.validateCustomerNoNulls(valid);
+		LegacyCustomerValidator.validateCustomerEmpty(valid);
+		LegacyCustomerValidator.verifyTypePerson(valid);
+		LegacyCustomerValidator.validateAuthorizedSignerOnlyEmpresa(valid);
+		return valid;
+	}
+
+	@Benchmark
+	public Object rulesNewCustomerValid() throws ErrorResponseException {
+		CustomerValidator.validateNewCustomer(valid);
+		return valid;
+	}
+
+	@Benchmark
+	public Object legacyNewCustomerFail() {
+		try {
+			LegacyCustomerValidator.validateCustomerNoNulls(badType);
+			LegacyCustomerValidator.validateCustomerEmpty(badType);
+			LegacyCustomerValidator.verifyTypePerson(badType);
+			LegacyCustomerValidator.validateAuthorizedSignerOnlyEmpresa(badType);
+			return badType;
+		} catch (ErrorResponseException e) {
+			return e;
+		}
+	}
+
+	@Benchmark
+	public Object rulesNewCustomerFail() {
+		try {
+			CustomerValidator.validateNewCustomer(badType);
+			return badType;
+		} catch (ErrorResponseException e) {
+			return e;
+		}
+	}
+
+	@Benchmark
+	public Object rulesNewCustomerAllViolations() {
+		return CustomerRules.customerViolations(CustomerRules.check(allInvalid, true));
+	}
+
+	@Benchmark
+	public Object legacySignerValid() throws ErrorResponseException {
+		LegacyCustomerValidator.validateAuthorizedSignerNoNulls(signer);
+		LegacyCustomerValidator.validateAuthorizedSignerEmpty(signer);
+		return signer;
+	}
+
+	@Benchmark
+	public Object rulesSignerValid() throws ErrorResponseException {
+		CustomerValidator.validateAuthorizedSigner(signer);
+		return signer;
+	}
+
+	@Benchmark
+	public Object customerNoNullsValid() throws ErrorResponseException {
+		LegacyCustomerValidator.validateCustomerNoNulls(valid);
+		return valid;
+	}
+
+	@Benchmark
+	public Object customerNoNullsFail() {
+		try {
+			LegacyCustomerValidator.validateCustomerNoNulls(nulls);
+			return nulls;
+		} catch (ErrorResponseException e) {
+			return e;
+		}
+	}
+
+	@Benchmark
+	public Object customerEmptyValid() throws ErrorResponseException {
+		LegacyCustomerValidator.validateCustomerEmpty(valid);
+		return valid;
+	}
+
+	@Benchmark
+	public Object customerEmptyFail() {
+		try {
+			LegacyCustomerValidator.validateCustomerEmpty(empty);
+			return empty;
+		} catch (ErrorResponseException e) {
+			return e;
+		}
+	}
+
+	@Benchmark
+	public Object typePersonValid() throws ErrorResponseException {
+		LegacyCustomerValidator.verifyTypePerson(valid);
+		return valid;
+	}
+
+	@Benchmark
+	public Object typePersonFail() {
+		try {
+			LegacyCustomerValidator.verifyTypePerson(badType);
+			return badType;
+		} catch (ErrorResponseException e) {
+			return e;
+		}
+	}
+
+	@Benchmark
+	public Object signerOnlyEmpresaValid() throws ErrorResponseException {
+		LegacyCustomerValidator.validateAuthorizedSignerOnlyEmpresa(valid);
+		return valid;
+	}
+
+	@Benchmark
+	public Object signerOnlyEmpresaFail() {
+		try {
+			LegacyCustomerValidator.validateAuthorizedSignerOnlyEmpresa(personaWithSigners);
+			return personaWithSigners;
+		} catch (ErrorResponseException e) {
+			return e;
+		}
+	}
+
+	@Benchmark
+	public Object signerNoNullsValid() throws ErrorResponseException {
+		LegacyCustomerValidator.validateAuthorizedSignerNoNulls(signer);
+		return signer;
+	}
+
+	@Benchmark
+	public Object signerNoNullsFail() {
+		try {
+			LegacyCustomerValidator.validateAuthorizedSignerNoNulls(signerNulls);
+			return signerNulls;
+		} catch (ErrorResponseException e) {
+			return e;
+		}
+	}
+
+	@Benchmark
+	public Object signerEmptyValid() throws ErrorResponseException {
+		LegacyCustomerValidator.validateAuthorizedSignerEmpty(signer);
+		return signer;
+	}
+
+	@Benchmark
+	public Object signerEmptyFail() {
+		try {
+			LegacyCustomerValidator.validateAuthorizedSignerEmpty(signerEmpty);
+			return signerEmpty;
+		} catch (ErrorResponseException e) {
+			return e;
+		}
+	}
+
+	@Benchmark
+	public Object customerPatchValid() throws ErrorResponseException {
+		CustomerValidator.validateCustomerPatch(patch);
+		return patch;
+	}
+
+	@Benchmark
+	public Object customerPatchFail() {
+		try {
+			CustomerValidator.validateCustomerPatch(patchEmpty);
+			return patchEmpty;
+		} catch (ErrorResponseException e) {
+			return e;
+		}
+	}
+}
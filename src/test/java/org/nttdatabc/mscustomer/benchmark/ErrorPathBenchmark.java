@@ -0,0 +1,72 @@
+package org.nttdatabc.mscustomer.benchmark;
+
+import static org.nttdatabc.mscustomer.utils.Constantes.EX_NOT_FOUND_RECURSO;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.concurrent.TimeUnit;
+import org.nttdatabc.mscustomer.model.Customer;
+import org.nttdatabc.mscustomer.utils.exceptions.GlobalExceptionHandler;
+import org.nttdatabc.mscustomer.utils.exceptions.dto.ErrorDto;
+import org.nttdatabc.mscustomer.utils.exceptions.errors.ErrorResponseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Costo de responder un 404: excepción con stack trace y ErrorDto serializado en cada error
+ * (como antes) contra la excepción sin stack trace y el cuerpo pre-serializado del handler,
+ * y contra serializar la respuesta exitosa de un Customer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorPathBenchmark {
+
+	private ObjectMapper objectMapper;
+	private GlobalExceptionHandler handler;
+	private Customer customer;
+
+	@Setup
+	public void setup() throws JsonProcessingException {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		handler = new GlobalExceptionHandler();
+		ReflectionTestUtils.setField(handler, "objectMapper", objectMapper);
+		handler.preRender();
+		customer = BenchmarkData.persona();
+	}
+
+	@Benchmark
+	public byte[] stackTraceAndDto() throws JsonProcessingException {
+		Exception e = new Exception(EX_NOT_FOUND_RECURSO);
+		return objectMapper.writeValueAsBytes(ErrorDto.builder()
+				.httpStatus(HttpStatus.NOT_FOUND)
+				.message(e.getMessage())
+				.code(HttpStatus.NOT_FOUND.value())
+				.build());
+	}
+
+	@Benchmark
+	public Object stacklessPreRendered() {
+		return handler.handleCustomException(new ErrorResponseException(EX_NOT_FOUND_RECURSO,
+				HttpStatus.NOT_FOUND.value(), HttpStatus.NOT_FOUND)).getBody();
+	}
+
+	@Benchmark
+	public byte[] successCustomer() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(customer);
+	}
+}
@@ -0,0 +1,53 @@
+package org.nttdatabc.mscustomer.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.nttdatabc.mscustomer.utils.Utilitarios;
+import org.nttdatabc.mscustomer.utils.id.IdGenerator;
+import org.nttdatabc.mscustomer.utils.id.TimeOrderedIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Costo de generar el _id de un customer, con uno y con varios hilos en paralelo. El generador
+ * ordenado por tiempo se comparte entre los hilos, como el bean del servicio.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdGenerationBenchmark {
+
+	private final IdGenerator timeOrdered = new TimeOrderedIdGenerator();
+
+	@Benchmark
+	public String generateUuid() {
+		return Utilitarios.generateUuid();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public String generateUuidContended() {
+		return Utilitarios.generateUuid();
+	}
+
+	@Benchmark
+	public String timeOrdered() {
+		return timeOrdered.nextId();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public String timeOrderedContended() {
+		return timeOrdered.nextId();
+	}
+}
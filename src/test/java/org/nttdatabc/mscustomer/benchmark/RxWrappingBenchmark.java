@@ -0,0 +1,89 @@
+package org.nttdatabc.mscustomer.benchmark;
+
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.nttdatabc.mscustomer.model.Customer;
+import org.nttdatabc.mscustomer.service.CustomerCache;
+import org.nttdatabc.mscustomer.service.CustomerServiceImpl;
+import org.nttdatabc.mscustomer.utils.CustomerValidator;
+import org.nttdatabc.mscustomer.utils.exceptions.errors.ErrorResponseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Sobrecosto de envolver en RxJava las operaciones de CustomerServiceImpl. Se usa el camino
+ * que no toca Mongo (lectura desde cache y validación fallida) para aislar el costo del wrapping,
+ * y se compara contra la llamada directa y contra el salto de hilo del scheduler del controller.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RxWrappingBenchmark {
+
+	private CustomerCache customerCache;
+	private CustomerServiceImpl customerService;
+	private Scheduler ioScheduler;
+	private Customer customer;
+	private Customer invalid;
+
+	@Setup
+	public void setup() {
+		customer = BenchmarkData.persona();
+		invalid = BenchmarkData.persona().type("OTRO");
+		customerCache = new CustomerCache(100, Duration.ofHours(1));
+		customerCache.put(customer, customerCache.stamp(customer.getId()));
+		customerService = new CustomerServiceImpl();
+		ReflectionTestUtils.setField(customerService, "customerCache", customerCache);
+		ioScheduler = Schedulers.io();
+	}
+
+	@TearDown
+	public void tearDown() {
+		ioScheduler.shutdown();
+	}
+
+	@Benchmark
+	public Customer cacheReadDirect() {
+		return customerCache.getIfPresent(customer.getId());
+	}
+
+	@Benchmark
+	public Customer cacheReadSingle() throws ErrorResponseException {
+		return customerService.getCustomerByIdService(customer.getId()).blockingGet();
+	}
+
+	@Benchmark
+	public Customer cacheReadSingleSubscribeOnIo() throws ErrorResponseException {
+		return customerService.getCustomerByIdService(customer.getId()).subscribeOn(ioScheduler).blockingGet();
+	}
+
+	@Benchmark
+	public Object validationFailDirect() {
+		try {
+			CustomerValidator.validateNewCustomer(invalid);
+			return invalid;
+		} catch (ErrorResponseException e) {
+			return e;
+		}
+	}
+
+	@Benchmark
+	public Object validationFailCompletable() throws ErrorResponseException {
+		return customerService.createCustomerService(invalid).materialize().blockingGet();
+	}
+}
@@ -0,0 +1,265 @@
+package org.nttdatabc.mscustomer.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.nttdatabc.mscustomer.MsCustomerApplication;
+import org.nttdatabc.mscustomer.loadtest.LoadWorkload.Operation;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Prueba de carga de punta a punta sobre HTTP (controller, servicio y repositorio).
+ * Sin -Dloadtest.base-url levanta la aplicación con el perfil loadtest (repositorio en memoria);
+ * con base-url mide una instancia ya levantada. Cada cliente es un hilo que ejecuta la mezcla
+ * de la carga en lazo cerrado, y se reporta throughput y p50/p99/p999 por operación.
+ *
+ * <p>Propiedades: loadtest.workload (read-heavy | create-heavy | signer-append), loadtest.clients,
+ * loadtest.warmup, loadtest.duration (segundos), loadtest.seed, loadtest.base-url, loadtest.result.
+ */
+public final class CustomerLoadDriver {
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	private static final long MAX_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(60);
+	private static final AtomicLong SEQUENCE = new AtomicLong();
+	private static final String RUN = Long.toString(System.currentTimeMillis() % 100000);
+
+	private final HttpClient httpClient;
+	private final String baseUrl;
+	private final List<String> ids = new ArrayList<>();
+	private final List<String> empresaIds = new ArrayList<>();
+	private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+	private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+	private CustomerLoadDriver(String baseUrl, int clients) {
+		this.baseUrl = baseUrl;
+		this.httpClient = HttpClient.newBuilder()
+				.executor(Executors.newFixedThreadPool(Math.max(4, clients / 4)))
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+		for (Operation operation : Operation.values()) {
+			recorders.put(operation, new Recorder(MAX_LATENCY_NANOS, 3));
+			errors.put(operation, new LongAdder());
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		LoadWorkload workload = LoadWorkload.of(System.getProperty("loadtest.workload", "read-heavy"));
+		int clients = Integer.getInteger("loadtest.clients", 64);
+		int warmup = Integer.getInteger("loadtest.warmup", 10);
+		int duration = Integer.getInteger("loadtest.duration", 30);
+		int seed = Integer.getInteger("loadtest.seed", 2000);
+		String baseUrl = System.getProperty("loadtest.base-url", "");
+		String result = System.getProperty("loadtest.result", "target/loadtest-" + workload.name().toLowerCase() + ".json");
+
+		ConfigurableApplicationContext context = null;
+		if (baseUrl.isBlank()) {
+			context = new SpringApplicationBuilder(MsCustomerApplication.class).profiles("loadtest").run(args);
+			baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1";
+		}
+		try {
+			CustomerLoadDriver driver = new CustomerLoadDriver(baseUrl, clients);
+			driver.seed(seed);
+			System.out.printf("workload=%s clients=%d warmup=%ds duration=%ds customers=%d%n",
+					workload, clients, warmup, duration, driver.ids.size());
+			driver.run(workload, clients, warmup);
+			Map<Operation, Histogram> histograms = driver.run(workload, clients, duration);
+			driver.report(workload, clients, duration, histograms, Path.of(result));
+		} finally {
+			if (context != null) {
+				context.close();
+			}
+			System.exit(0);
+		}
+	}
+
+	private void seed(int count) throws IOException, InterruptedException {
+		for (int i = 0; i < count; i++) {
+			send(Operation.CREATE, create(i % 2 == 0 ? "PERSONA" : "EMPRESA"));
+		}
+		String cursor = null;
+		do {
+			String query = "/customer/page?view=summary&limit=500" + (cursor == null ? "" : "&cursor=" + cursor);
+			JsonNode page = MAPPER.readTree(httpClient.send(get(query), HttpResponse.BodyHandlers.ofByteArray()).body());
+			for (JsonNode item : page.path("items")) {
+				ids.add(item.path("_id").asText());
+				if ("EMPRESA".equals(item.path("type").asText())) {
+					empresaIds.add(item.path("_id").asText());
+				}
+			}
+			cursor = page.path("nextCursor").isTextual() ? page.path("nextCursor").asText() : null;
+		} while (cursor != null);
+		if (ids.isEmpty() || empresaIds.isEmpty()) {
+			throw new IllegalStateException("No se pudieron sembrar customers en " + baseUrl);
+		}
+	}
+
+	private Map<Operation, Histogram> run(LoadWorkload workload, int clients, int seconds) throws InterruptedException {
+		recorders.values().forEach(Recorder::reset);
+		errors.values().forEach(LongAdder::reset);
+		AtomicBoolean running = new AtomicBoolean(true);
+		CountDownLatch done = new CountDownLatch(clients);
+		ExecutorService pool = Executors.newFixedThreadPool(clients);
+		for (int i = 0; i < clients; i++) {
+			pool.execute(() -> {
+				try {
+					while (running.get()) {
+						Operation operation = workload.next();
+						send(operation, request(operation));
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					done.countDown();
+				}
+			});
+		}
+		Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+		running.set(false);
+		done.await();
+		pool.shutdown();
+		Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+		recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+		return histograms;
+	}
+
+	private HttpRequest request(Operation operation) {
+		switch (operation) {
+			case GET_BY_ID:
+				return get("/customer/" + random(ids));
+			case GET_PAGE:
+				return get("/customer/page?limit=50");
+			case CREATE:
+				return create(ThreadLocalRandom.current().nextBoolean() ? "PERSONA" : "EMPRESA");
+			case APPEND_SIGNER:
+				return post("/customer/authorized_signers/" + random(empresaIds), MAPPER.createObjectNode()
+						.put("dni", Long.toString(40000000 + SEQUENCE.incrementAndGet()))
+						.put("fullname", "Firmante carga")
+						.put("cargo", "Apoderado"));
+			case GET_SIGNERS:
+				return get("/customer/authorized_signers/" + random(empresaIds));
+			default:
+				throw new IllegalArgumentException(operation.name());
+		}
+	}
+
+	private void send(Operation operation, HttpRequest request) throws InterruptedException {
+		long start = System.nanoTime();
+		try {
+			int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+			if (status >= 300) {
+				errors.get(operation).increment();
+			}
+		} catch (IOException e) {
+			errors.get(operation).increment();
+		}
+		recorders.get(operation).recordValue(Math.min(System.nanoTime() - start, MAX_LATENCY_NANOS));
+	}
+
+	private void report(LoadWorkload workload, int clients, int seconds, Map<Operation, Histogram> histograms, Path result)
+			throws IOException {
+		ObjectNode json = MAPPER.createObjectNode()
+				.put("workload", workload.name().toLowerCase().replace('_', '-'))
+				.put("clients", clients)
+				.put("durationSeconds", seconds);
+		ObjectNode operations = json.putObject("operations");
+		Histogram total = new Histogram(MAX_LATENCY_NANOS, 3);
+		System.out.printf("%-14s %10s %8s %10s %10s %10s %10s %10s%n",
+				"operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+		for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+			Histogram histogram = entry.getValue();
+			if (histogram.getTotalCount() == 0) {
+				continue;
+			}
+			total.add(histogram);
+			long failed = errors.get(entry.getKey()).sum();
+			print(entry.getKey().name(), histogram, failed, seconds);
+			operations.set(entry.getKey().name(), summary(histogram, failed, seconds));
+		}
+		long failed = errors.values().stream().mapToLong(LongAdder::sum).sum();
+		print("TOTAL", total, failed, seconds);
+		json.set("total", summary(total, failed, seconds));
+		if (result.getParent() != null) {
+			Files.createDirectories(result.getParent());
+		}
+		MAPPER.writerWithDefaultPrettyPrinter().writeValue(result.toFile(), json);
+		System.out.println("Resultado guardado en " + result.toAbsolutePath());
+	}
+
+	private static void print(String name, Histogram histogram, long failed, int seconds) {
+		System.out.printf("%-14s %10d %8d %10.1f %10.3f %10.3f %10.3f %10.3f%n",
+				name, histogram.getTotalCount(), failed, (double) histogram.getTotalCount() / seconds,
+				millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9), histogram.getMaxValue() / 1e6);
+	}
+
+	private static ObjectNode summary(Histogram histogram, long failed, int seconds) {
+		return MAPPER.createObjectNode()
+				.put("requests", histogram.getTotalCount())
+				.put("errors", failed)
+				.put("throughput", (double) histogram.getTotalCount() / seconds)
+				.put("p50Ms", millis(histogram, 50))
+				.put("p99Ms", millis(histogram, 99))
+				.put("p999Ms", millis(histogram, 99.9))
+				.put("maxMs", histogram.getMaxValue() / 1e6);
+	}
+
+	private static double millis(Histogram histogram, double percentile) {
+		return histogram.getValueAtPercentile(percentile) / 1e6;
+	}
+
+	private HttpRequest create(String type) {
+		long sequence = SEQUENCE.incrementAndGet();
+		ObjectNode customer = MAPPER.createObjectNode()
+				.put("identifier", RUN + "-" + sequence)
+				.put("fullname", "Cliente " + sequence)
+				.put("type", type)
+				.put("address", "Av. Arequipa " + sequence)
+				.put("phone", "999" + sequence)
+				.put("email", "cliente" + sequence + "@mail.com")
+				.put("birthday", "1990-01-01");
+		if ("EMPRESA".equals(type)) {
+			customer.putArray("authorizedSigners");
+		}
+		return post("/customer", customer);
+	}
+
+	private HttpRequest get(String path) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.header("Accept", "application/json")
+				.GET()
+				.build();
+	}
+
+	private HttpRequest post(String path, JsonNode body) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+				.build();
+	}
+
+	private static String random(List<String> values) {
+		return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+	}
+}
@@ -0,0 +1,397 @@
+package org.nttdatabc.mscustomer.loadtest;
+
+import static org.nttdatabc.mscustomer.utils.Constantes.MONGO_DUPLICATE_KEY;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.nttdatabc.mscustomer.model.AuthorizedSigner;
+import org.nttdatabc.mscustomer.model.Customer;
+import org.nttdatabc.mscustomer.model.CustomerPatch;
+import org.nttdatabc.mscustomer.model.CustomerSummary;
+import org.nttdatabc.mscustomer.model.TypeCustomer;
+import org.nttdatabc.mscustomer.repository.CustomerRepository;
+import org.nttdatabc.mscustomer.repository.CustomerSearch;
+import org.nttdatabc.mscustomer.utils.Utilitarios;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.stereotype.Repository;
+
+/**
+ * CustomerRepository en memoria para el perfil loadtest. Reproduce la semántica que usa el servicio
+ * (índice único de identifier, orden por _id, $push y patch condicionados) y guarda copias,
+ * igual que Mongo, para que el cache y el servicio no compartan instancias con el almacenamiento.
+ * Las consultas por Example no se usan en el servicio y no están soportadas.
+ */
+@Repository
+@Profile("loadtest")
+public class InMemoryCustomerRepository implements CustomerRepository {
+
+	private final NavigableMap<String, Customer> customers = new ConcurrentSkipListMap<>();
+	private final Map<String, String> identifiers = new ConcurrentHashMap<>();
+
+	@Override
+	public Optional<Customer> findByIdentifier(String identifier) {
+		return Optional.ofNullable(identifiers.get(identifier)).flatMap(this::findById);
+	}
+
+	@Override
+	public List<Customer> findAllByIdentifierIn(Collection<String> identifiers) {
+		return identifiers.stream()
+				.map(this::findByIdentifier)
+				.flatMap(Optional::stream)
+				.collect(Collectors.toList());
+	}
+
+	@Override
+	public List<Customer> findPageAfter(String lastId, int limit) {
+		NavigableMap<String, Customer> tail = lastId == null ? customers : customers.tailMap(lastId, false);
+		return tail.values().stream().limit(limit).map(InMemoryCustomerRepository::copy).collect(Collectors.toList());
+	}
+
+	@Override
+	public CloseableIterator<Customer> streamAll() {
+		return closeable(customers.values().stream().map(InMemoryCustomerRepository::copy).iterator());
+	}
+
+	@Override
+	public boolean pushAuthorizedSigner(String customerId, AuthorizedSigner authorizedSigner) {
+		boolean[] pushed = {false};
+		customers.computeIfPresent(customerId, (id, current) -> {
+			if (TypeCustomer.PERSONA.toString().equalsIgnoreCase(current.getType())) {
+				return current;
+			}
+			Customer updated = copy(current);
+			updated.addAuthorizedSignersItem(authorizedSigner);
+			updated.setVersion(nextVersion(current));
+			pushed[0] = true;
+			return updated;
+		});
+		return pushed[0];
+	}
+
+	@Override
+	public boolean patchCustomer(String customerId, CustomerPatch patch) {
+		boolean[] patched = {false};
+		customers.computeIfPresent(customerId, (id, current) -> {
+			if (!patch.getVersion().equals(current.getVersion())) {
+				return current;
+			}
+			Customer updated = copy(current);
+			Optional.ofNullable(patch.getFullname()).ifPresent(updated::setFullname);
+			Optional.ofNullable(patch.getAddress()).ifPresent(updated::setAddress);
+			Optional.ofNullable(patch.getPhone()).ifPresent(updated::setPhone);
+			Optional.ofNullable(patch.getEmail()).ifPresent(updated::setEmail);
+			Optional.ofNullable(patch.getBirthday()).ifPresent(updated::setBirthday);
+			updated.setVersion(nextVersion(current));
+			patched[0] = true;
+			return updated;
+		});
+		return patched[0];
+	}
+
+	@Override
+	public boolean replaceCustomer(String customerId, Customer customer, long expectedVersion) {
+		boolean[] replaced = {false};
+		customers.computeIfPresent(customerId, (id, current) -> {
+			if (Utilitarios.versionOf(current) != expectedVersion) {
+				return current;
+			}
+			Customer updated = copy(current);
+			updated.setFullname(customer.getFullname());
+			updated.setAddress(customer.getAddress());
+			updated.setPhone(customer.getPhone());
+			updated.setEmail(customer.getEmail());
+			updated.setBirthday(customer.getBirthday());
+			updated.setAuthorizedSigners(customer.getAuthorizedSigners());
+			updated.setVersion(nextVersion(current));
+			replaced[0] = true;
+			return updated;
+		});
+		return replaced[0];
+	}
+
+	@Override
+	public Set<String> findRegisteredIdentifiers(Collection<String> identifiers) {
+		return identifiers.stream().filter(this.identifiers::containsKey).collect(Collectors.toSet());
+	}
+
+	@Override
+	public Stream<String> streamIdentifiers() {
+		return List.copyOf(identifiers.keySet()).stream();
+	}
+
+	@Override
+	public Map<Integer, Integer> insertUnordered(List<Customer> customers) {
+		Map<Integer, Integer> failures = new HashMap<>();
+		for (int i = 0; i < customers.size(); i++) {
+			try {
+				insert(customers.get(i));
+			} catch (DuplicateKeyException e) {
+				failures.put(i, MONGO_DUPLICATE_KEY);
+			}
+		}
+		return failures;
+	}
+
+	@Override
+	public Optional<CustomerSummary> findSummaryById(String customerId) {
+		return Optional.ofNullable(customers.get(customerId)).map(Utilitarios::toSummary);
+	}
+
+	@Override
+	public List<CustomerSummary> findSummaryPageAfter(String lastId, int limit) {
+		NavigableMap<String, Customer> tail = lastId == null ? customers : customers.tailMap(lastId, false);
+		return tail.values().stream().limit(limit).map(Utilitarios::toSummary).collect(Collectors.toList());
+	}
+
+	@Override
+	public CloseableIterator<CustomerSummary> streamAllSummaries() {
+		return closeable(customers.values().stream().map(Utilitarios::toSummary).iterator());
+	}
+
+	@Override
+	public List<CustomerSummary> findSummariesBySignerDni(String dni, String lastId, int limit) {
+		NavigableMap<String, Customer> tail = lastId == null ? customers : customers.tailMap(lastId, false);
+		return tail.values().stream()
+				.filter(customer -> customer.getAuthorizedSigners() != null
+						&& customer.getAuthorizedSigners().stream().anyMatch(signer -> dni.equals(signer.getDni())))
+				.limit(limit)
+				.map(Utilitarios::toSummary)
+				.collect(Collectors.toList());
+	}
+
+	@Override
+	public Optional<Long> findVersionById(String customerId) {
+		return Optional.ofNullable(customers.get(customerId)).map(Utilitarios::versionOf);
+	}
+
+	@Override
+	public List<Customer> search(CustomerSearch search) {
+		Comparator<Customer> order = Comparator.comparing(Customer::getId);
+		if (search.byName()) {
+			order = Comparator.comparing((Customer customer) -> Utilitarios.normalizeSearch(customer.getFullname())).thenComparing(order);
+		}
+		return customers.values().stream()
+				.filter(customer -> matches(customer, search))
+				.sorted(order)
+				.limit(search.getLimit())
+				.map(InMemoryCustomerRepository::copy)
+				.collect(Collectors.toList());
+	}
+
+	@Override
+	public <S extends Customer> S insert(S entity) {
+		if (identifiers.putIfAbsent(entity.getIdentifier(), entity.getId()) != null) {
+			throw new DuplicateKeyException("identifier " + entity.getIdentifier());
+		}
+		if (customers.putIfAbsent(entity.getId(), copy(entity)) != null) {
+			identifiers.remove(entity.getIdentifier());
+			throw new DuplicateKeyException("_id " + entity.getId());
+		}
+		return entity;
+	}
+
+	@Override
+	public <S extends Customer> List<S> insert(Iterable<S> entities) {
+		List<S> inserted = new ArrayList<>();
+		entities.forEach(entity -> inserted.add(insert(entity)));
+		return inserted;
+	}
+
+	@Override
+	public <S extends Customer> S save(S entity) {
+		identifiers.put(entity.getIdentifier(), entity.getId());
+		customers.put(entity.getId(), copy(entity));
+		return entity;
+	}
+
+	@Override
+	public <S extends Customer> List<S> saveAll(Iterable<S> entities) {
+		List<S> saved = new ArrayList<>();
+		entities.forEach(entity -> saved.add(save(entity)));
+		return saved;
+	}
+
+	@Override
+	public Optional<Customer> findById(String id) {
+		return Optional.ofNullable(customers.get(id)).map(InMemoryCustomerRepository::copy);
+	}
+
+	@Override
+	public boolean existsById(String id) {
+		return customers.containsKey(id);
+	}
+
+	@Override
+	public List<Customer> findAll() {
+		return customers.values().stream().map(InMemoryCustomerRepository::copy).collect(Collectors.toList());
+	}
+
+	@Override
+	public List<Customer> findAll(Sort sort) {
+		if (sort.isSorted()) {
+			throw new UnsupportedOperationException("sort");
+		}
+		return findAll();
+	}
+
+	@Override
+	public Page<Customer> findAll(Pageable pageable) {
+		List<Customer> all = findAll(pageable.getSort());
+		int from = (int) Math.min(pageable.getOffset(), all.size());
+		int to = Math.min(from + pageable.getPageSize(), all.size());
+		return new PageImpl<>(all.subList(from, to), pageable, all.size());
+	}
+
+	@Override
+	public Iterable<Customer> findAllById(Iterable<String> ids) {
+		List<Customer> found = new ArrayList<>();
+		ids.forEach(id -> findById(id).ifPresent(found::add));
+		return found;
+	}
+
+	@Override
+	public long count() {
+		return customers.size();
+	}
+
+	@Override
+	public void deleteById(String id) {
+		Customer removed = customers.remove(id);
+		if (removed != null) {
+			identifiers.remove(removed.getIdentifier(), id);
+		}
+	}
+
+	@Override
+	public void delete(Customer entity) {
+		deleteById(entity.getId());
+	}
+
+	@Override
+	public void deleteAllById(Iterable<? extends String> ids) {
+		ids.forEach(this::deleteById);
+	}
+
+	@Override
+	public void deleteAll(Iterable<? extends Customer> entities) {
+		entities.forEach(this::delete);
+	}
+
+	@Override
+	public void deleteAll() {
+		customers.clear();
+		identifiers.clear();
+	}
+
+	@Override
+	public <S extends Customer> Optional<S> findOne(Example<S> example) {
+		throw new UnsupportedOperationException("findOne(Example)");
+	}
+
+	@Override
+	public <S extends Customer> List<S> findAll(Example<S> example) {
+		throw new UnsupportedOperationException("findAll(Example)");
+	}
+
+	@Override
+	public <S extends Customer> List<S> findAll(Example<S> example, Sort sort) {
+		throw new UnsupportedOperationException("findAll(Example, Sort)");
+	}
+
+	@Override
+	public <S extends Customer> Page<S> findAll(Example<S> example, Pageable pageable) {
+		throw new UnsupportedOperationException("findAll(Example, Pageable)");
+	}
+
+	@Override
+	public <S extends Customer> long count(Example<S> example) {
+		throw new UnsupportedOperationException("count(Example)");
+	}
+
+	@Override
+	public <S extends Customer> boolean exists(Example<S> example) {
+		throw new UnsupportedOperationException("exists(Example)");
+	}
+
+	@Override
+	public <S extends Customer, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+		throw new UnsupportedOperationException("findBy(Example)");
+	}
+
+	private static boolean matches(Customer customer, CustomerSearch search) {
+		String name = Utilitarios.normalizeSearch(customer.getFullname());
+		if (search.getEmail() != null && !search.getEmail().equals(customer.getEmail())
+				|| search.getPhone() != null && !search.getPhone().equals(customer.getPhone())
+				|| search.getNamePrefix() != null && (name == null || !name.startsWith(search.getNamePrefix()))) {
+			return false;
+		}
+		if (search.getLastId() == null) {
+			return true;
+		}
+		if (!search.byName()) {
+			return customer.getId().compareTo(search.getLastId()) > 0;
+		}
+		int byName = name.compareTo(search.getLastName());
+		return byName > 0 || byName == 0 && customer.getId().compareTo(search.getLastId()) > 0;
+	}
+
+	private static long nextVersion(Customer customer) {
+		return customer.getVersion() == null ? 1L : customer.getVersion() + 1;
+	}
+
+	private static Customer copy(Customer customer) {
+		Customer copy = new Customer()
+				.id(customer.getId())
+				.identifier(customer.getIdentifier())
+				.fullname(customer.getFullname())
+				.type(customer.getType())
+				.address(customer.getAddress())
+				.phone(customer.getPhone())
+				.email(customer.getEmail())
+				.birthday(customer.getBirthday())
+				.version(customer.getVersion());
+		if (customer.getAuthorizedSigners() != null) {
+			copy.setAuthorizedSigners(new ArrayList<>(customer.getAuthorizedSigners()));
+		}
+		return copy;
+	}
+
+	private static <T> CloseableIterator<T> closeable(Iterator<T> iterator) {
+		return new CloseableIterator<>() {
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public T next() {
+				return iterator.next();
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+	}
+}
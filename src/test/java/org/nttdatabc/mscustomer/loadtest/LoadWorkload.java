@@ -0,0 +1,43 @@
+package org.nttdatabc.mscustomer.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mezclas de operaciones que ejecuta cada cliente del CustomerLoadDriver, en porcentaje.
+ */
+enum LoadWorkload {
+	READ_HEAVY(Map.of(Operation.GET_BY_ID, 85, Operation.GET_PAGE, 10, Operation.CREATE, 5)),
+	CREATE_HEAVY(Map.of(Operation.CREATE, 80, Operation.GET_BY_ID, 20)),
+	SIGNER_APPEND(Map.of(Operation.APPEND_SIGNER, 70, Operation.GET_SIGNERS, 20, Operation.GET_BY_ID, 10));
+
+	/**
+	 * Operaciones HTTP que puede ejecutar un cliente.
+	 */
+	enum Operation {
+		GET_BY_ID, GET_PAGE, CREATE, APPEND_SIGNER, GET_SIGNERS
+	}
+
+	private final Operation[] slots = new Operation[100];
+
+	LoadWorkload(Map<Operation, Integer> mix) {
+		int slot = 0;
+		for (Map.Entry<Operation, Integer> entry : new EnumMap<>(mix).entrySet()) {
+			for (int i = 0; i < entry.getValue(); i++) {
+				slots[slot++] = entry.getKey();
+			}
+		}
+		if (slot != slots.length) {
+			throw new IllegalStateException(name() + " suma " + slot + "%");
+		}
+	}
+
+	Operation next() {
+		return slots[ThreadLocalRandom.current().nextInt(slots.length)];
+	}
+
+	static LoadWorkload of(String name) {
+		return valueOf(name.trim().toUpperCase().replace('-', '_'));
+	}
+}